@@ -0,0 +1,34 @@
+package com.example.questions.benchmarks;
+
+import com.example.questions.model.Question;
+import com.example.questions.model.Topic;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+    private BenchmarkData() {
+    }
+
+    static List<Topic> topics(int nrOfTopics) {
+        List<Topic> topics = new ArrayList<>(nrOfTopics);
+        for (int i = 0; i < nrOfTopics; i++) {
+            topics.add(new Topic(new ObjectId().toHexString(), "Topic " + i, i));
+        }
+        return topics;
+    }
+
+    static List<Question> questions(int nrOfQuestions, List<Topic> topics) {
+        List<Question> questions = new ArrayList<>(nrOfQuestions);
+        for (int i = 0; i < nrOfQuestions; i++) {
+            Topic topic = topics.get(i % topics.size());
+            Question question = new Question("How does feature " + i + " work?",
+                    "Feature " + i + " works by delegating to the underlying framework and caching the result.",
+                    List.of(new Topic(topic.getId(), topic.getName(), null)));
+            question.setId(new ObjectId().toHexString());
+            questions.add(question);
+        }
+        return questions;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.questions.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the regular JMH command line options, but writes the results as JSON to
+ * {@code target/jmh-results.json} unless {@code -rf}/{@code -rff} say otherwise, so runs of different releases can
+ * be compared.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLineOptions.getResult().orElse("target/jmh-results.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.questions.benchmarks;
+
+import com.example.questions.config.execution.ExecutionProperties;
+import com.example.questions.config.execution.ServiceExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event loop latency while service calls block, per execution mode. Every invocation has a single-threaded event
+ * loop start {@code blockingCalls} service calls that each block for {@code blockMillis}, standing in for a slow
+ * Mongo response or an index lock held during a rebuild, and measures how long a task queued on the event loop
+ * right behind them takes to run. With {@code EVENT_LOOP} it waits for all of the calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionModeBenchmark {
+    @Param({"EVENT_LOOP", "BOUNDED_ELASTIC", "VIRTUAL_THREADS"})
+    private ExecutionProperties.Mode mode;
+    @Param({"16"})
+    private int blockingCalls;
+    @Param({"5"})
+    private int blockMillis;
+    private Scheduler eventLoop;
+    private Scheduler serviceScheduler;
+    private ServiceExecutor serviceExecutor;
+    private CountDownLatch pendingCalls;
+
+    @Setup
+    public void setUp() {
+        ExecutionProperties properties = new ExecutionProperties();
+        properties.setMode(mode);
+        eventLoop = Schedulers.newSingle("event-loop");
+        serviceScheduler = ServiceExecutor.scheduler(properties);
+        serviceExecutor = new ServiceExecutor(serviceScheduler);
+    }
+
+    @TearDown
+    public void tearDown() {
+        eventLoop.dispose();
+        serviceScheduler.dispose();
+    }
+
+    @Benchmark
+    public Long eventLoopLatency() {
+        CountDownLatch calls = new CountDownLatch(blockingCalls);
+        pendingCalls = calls;
+        eventLoop.schedule(() -> {
+            for (int i = 0; i < blockingCalls; i++) {
+                serviceExecutor.call(this::slowCall).doFinally(signal -> calls.countDown()).subscribe();
+            }
+        });
+        return Mono.fromCallable(System::nanoTime).subscribeOn(eventLoop).block();
+    }
+
+    /**
+     * Lets the calls of an invocation finish outside of its measurement, so they do not slow down the next one.
+     */
+    @TearDown(Level.Invocation)
+    public void awaitPendingCalls() throws InterruptedException {
+        pendingCalls.await();
+    }
+
+    private int slowCall() throws InterruptedException {
+        Thread.sleep(blockMillis);
+        return blockMillis;
+    }
+}
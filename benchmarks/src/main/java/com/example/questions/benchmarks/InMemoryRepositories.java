@@ -0,0 +1,58 @@
+package com.example.questions.benchmarks;
+
+import com.example.questions.model.Question;
+import com.example.questions.model.Topic;
+import com.example.questions.repository.QuestionRepository;
+import com.example.questions.repository.TopicRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Repository stand-ins backed by maps, so the benchmarks measure the service code rather than Mongo. Only the
+ * methods the benchmarked paths call are implemented.
+ */
+final class InMemoryRepositories {
+    private InMemoryRepositories() {
+    }
+
+    static TopicRepository topicRepository(List<Topic> topics) {
+        Map<String, Topic> topicsById = topics.stream().collect(Collectors.toMap(Topic::getId, Function.identity()));
+        Map<String, Topic> topicsByName = topics.stream().collect(Collectors.toMap(Topic::getName, Function.identity()));
+
+        return proxy(TopicRepository.class, (method, args) -> switch (method.getName()) {
+            case "findAll" -> Flux.fromIterable(topics);
+            case "findById" -> Mono.justOrEmpty(topicsById.get((String) args[0]));
+            case "findByName" -> Mono.justOrEmpty(topicsByName.get((String) args[0]));
+            case "findAllById" -> Flux.fromIterable((Iterable<?>) args[0]).mapNotNull(topicsById::get);
+            case "incrementNrOfQuestions" -> Mono.empty();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static QuestionRepository questionRepository(Question storedQuestion) {
+        return proxy(QuestionRepository.class, (method, args) -> switch (method.getName()) {
+            case "insert" -> Mono.just(args[0]);
+            case "findAndUpdateContent", "findAndRemoveById" -> Mono.just(storedQuestion);
+            case "findQuestionsByTopic" -> Flux.empty();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "toString" -> "InMemory" + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> handler.apply(method, args);
+                }));
+    }
+}
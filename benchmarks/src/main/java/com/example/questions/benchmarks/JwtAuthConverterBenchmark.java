@@ -0,0 +1,73 @@
+package com.example.questions.benchmarks;
+
+import com.example.questions.config.jwt.JwtAuthConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of a Keycloak access token carrying scopes and client roles into an authentication, without the
+ * authentication cache and with the token already cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthConverterBenchmark {
+    private JwtAuthConverter converter;
+    private JwtAuthConverter cachingConverter;
+    private Jwt jwt;
+
+    @Setup
+    public void setUp() {
+        converter = new JwtAuthConverter(0);
+        cachingConverter = new JwtAuthConverter(1_000);
+        for (JwtAuthConverter jwtAuthConverter : List.of(converter, cachingConverter)) {
+            setField(jwtAuthConverter, "principleAttribute", "preferred_username");
+            setField(jwtAuthConverter, "resourceId", "microservice-auth");
+        }
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("5d0f1c2e-8f3a-4c59-9a57-0d1b6c7e9f21")
+                .claim("preferred_username", "hr.user")
+                .claim("scope", "openid profile email")
+                .claim("resource_access", Map.of("microservice-auth", Map.of("roles", List.of("client-hr", "client-developer"))))
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return converter.convert(jwt).block();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convertCached() {
+        return cachingConverter.convert(jwt).block();
+    }
+
+    private static void setField(JwtAuthConverter target, String name, String value) {
+        Field field = ReflectionUtils.findField(JwtAuthConverter.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
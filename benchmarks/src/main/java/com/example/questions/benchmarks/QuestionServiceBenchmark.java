@@ -0,0 +1,87 @@
+package com.example.questions.benchmarks;
+
+import com.example.questions.config.execution.ServiceExecutor;
+import com.example.questions.config.metrics.QuestionMetrics;
+import com.example.questions.model.Question;
+import com.example.questions.model.Topic;
+import com.example.questions.repository.QuestionRepository;
+import com.example.questions.repository.TopicRepository;
+import com.example.questions.service.DataGeneration;
+import com.example.questions.service.DuplicateDetector;
+import com.example.questions.service.QuestionSearchIndex;
+import com.example.questions.service.QuestionService;
+import com.example.questions.service.QuestionServiceImpl;
+import com.example.questions.service.TopicCatalog;
+import com.example.questions.service.TopicQuestionsCache;
+import com.example.questions.validator.ValidationServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Create and update of a question with two topics, against in-memory repositories and a warm topic catalog. Every
+ * created question gets its own text and is dropped from the duplicate detector again, so invocations neither
+ * look like duplicates of each other nor grow the detector.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuestionServiceBenchmark {
+    private QuestionService questionService;
+    private DuplicateDetector duplicateDetector;
+    private Question question;
+    private String questionId;
+    private long nrOfCreatedQuestions;
+
+    @Setup
+    public void setUp() {
+        List<Topic> topics = BenchmarkData.topics(100);
+        TopicRepository topicRepository = InMemoryRepositories.topicRepository(topics);
+        TopicCatalog topicCatalog = new TopicCatalog(topicRepository);
+        topicCatalog.refresh().block();
+
+        Question storedQuestion = BenchmarkData.questions(1, topics).get(0);
+        questionId = storedQuestion.getId();
+        QuestionRepository questionRepository = InMemoryRepositories.questionRepository(storedQuestion);
+        DataGeneration dataGeneration = new DataGeneration();
+        duplicateDetector = new DuplicateDetector(questionRepository, 0.8, false);
+        questionService = new QuestionServiceImpl(questionRepository, topicRepository, topicCatalog, new ValidationServiceImpl(),
+                new QuestionMetrics(new SimpleMeterRegistry()), new QuestionSearchIndex(questionRepository),
+                duplicateDetector, dataGeneration,
+                new TopicQuestionsCache(dataGeneration, new ObjectMapper(), new SimpleMeterRegistry(), 0, Duration.ZERO, Duration.ZERO),
+                new ServiceExecutor(Schedulers.immediate()));
+        question = new Question("How does the JVM load classes?", "Through a hierarchy of class loaders.",
+                List.of(new Topic(null, "Topic 1", null), new Topic(null, "Topic 2", null)));
+    }
+
+    @Benchmark
+    public Question createQuestion() {
+        String text = question.getQuestion() + " " + ++nrOfCreatedQuestions + " " + UUID.randomUUID();
+        Question createdQuestion = questionService.createQuestion(new Question(text, question.getAnswer(), question.getTopics())).block();
+        duplicateDetector.remove(createdQuestion.getId());
+        return createdQuestion;
+    }
+
+    @Benchmark
+    public Question updateQuestion() {
+        return questionService.updateQuestion(questionId, question.getQuestion(), question.getAnswer(), question.getTopics()).block();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.questions.benchmarks;
+
+import com.example.questions.model.Question;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the question lists returned by {@code GET /api/v1/questions/{id}}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"100", "10000"})
+    private int nrOfQuestions;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Question> questions;
+
+    @Setup
+    public void setUp() {
+        questions = BenchmarkData.questions(nrOfQuestions, BenchmarkData.topics(20));
+    }
+
+    @Benchmark
+    public byte[] serializeQuestions() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(questions);
+    }
+}
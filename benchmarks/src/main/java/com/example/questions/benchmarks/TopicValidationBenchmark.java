@@ -0,0 +1,72 @@
+package com.example.questions.benchmarks;
+
+import com.example.questions.config.execution.ServiceExecutor;
+import com.example.questions.config.metrics.QuestionMetrics;
+import com.example.questions.model.Topic;
+import com.example.questions.repository.QuestionRepository;
+import com.example.questions.repository.TopicRepository;
+import com.example.questions.service.DataGeneration;
+import com.example.questions.service.DuplicateDetector;
+import com.example.questions.service.QuestionSearchIndex;
+import com.example.questions.service.QuestionService;
+import com.example.questions.service.QuestionServiceImpl;
+import com.example.questions.service.TopicCatalog;
+import com.example.questions.service.TopicQuestionsCache;
+import com.example.questions.validator.ValidationServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Topic validation at growing catalog sizes. {@code isTopicValid} is private, so it is measured through
+ * {@code getQuestionsByTopicId} for a topic without questions, which does nothing else.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopicValidationBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int nrOfTopics;
+    private QuestionService questionService;
+    private String topicId;
+
+    @Setup
+    public void setUp() {
+        List<Topic> topics = BenchmarkData.topics(nrOfTopics);
+        TopicRepository topicRepository = InMemoryRepositories.topicRepository(topics);
+        TopicCatalog topicCatalog = new TopicCatalog(topicRepository);
+        topicCatalog.refresh().block();
+
+        QuestionRepository questionRepository = InMemoryRepositories.questionRepository(null);
+        DataGeneration dataGeneration = new DataGeneration();
+        questionService = new QuestionServiceImpl(questionRepository, topicRepository, topicCatalog, new ValidationServiceImpl(),
+                new QuestionMetrics(new SimpleMeterRegistry()), new QuestionSearchIndex(questionRepository),
+                new DuplicateDetector(questionRepository, 0.8, false), dataGeneration,
+                new TopicQuestionsCache(dataGeneration, new ObjectMapper(), new SimpleMeterRegistry(), 0, Duration.ZERO, Duration.ZERO),
+                new ServiceExecutor(Schedulers.immediate()));
+        topicId = topics.get(topics.size() - 1).getId();
+    }
+
+    @Benchmark
+    public Object isTopicValid() {
+        return questionService.getQuestionsByTopicId(topicId, false).then().block();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.questions.benchmarks;
+
+import com.example.questions.validator.ValidationResult;
+import com.example.questions.validator.ValidationService;
+import com.example.questions.validator.ValidationServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text validation for accepted and rejected input. Neither allocates: rejections share a precomputed, stackless
+ * exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    @Param({"How does the JVM load classes?", "   ", "null"})
+    private String text;
+    private final ValidationService validationService = new ValidationServiceImpl();
+
+    @Benchmark
+    public boolean isValidText() {
+        return validationService.isValidText(text);
+    }
+
+    @Benchmark
+    public ValidationResult validateQuestion() {
+        return validationService.validateQuestion(text, text);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.questions.benchmarks;
+
+import com.example.questions.model.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Invokes the benchmark methods repeatedly, as JMH does, without measuring anything.
+ */
+class QuestionServiceBenchmarkTest {
+    private QuestionServiceBenchmark benchmark;
+
+    @BeforeEach
+    void setUp() {
+        benchmark = new QuestionServiceBenchmark();
+        benchmark.setUp();
+    }
+
+    @Test
+    void createQuestionShouldSucceedOnEveryInvocation() {
+        Question first = benchmark.createQuestion();
+        Question second = benchmark.createQuestion();
+        Question third = benchmark.createQuestion();
+
+        assertNotEquals(first.getId(), second.getId());
+        assertNotEquals(second.getId(), third.getId());
+    }
+
+    @Test
+    void updateQuestionShouldSucceedOnEveryInvocation() {
+        for (int i = 0; i < 3; i++) assertNotNull(benchmark.updateQuestion());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.questions.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Session;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Drives the topic and question endpoints of a service started with the {@code loadtest} profile. A token is
+ * minted once by the stub issuer and a topic with a few questions is created before the run; the report lists
+ * p50/p75/p95/p99 latency and requests per second for every endpoint.
+ * <p>
+ * Tunable with {@code -DbaseUrl}, {@code -DusersPerSecond}, {@code -DdurationSeconds} and {@code -DseedQuestions}.
+ */
+public class QuestionsSimulation extends Simulation {
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8083");
+    private static final int USERS_PER_SECOND = Integer.getInteger("usersPerSecond", 50);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("durationSeconds", 60));
+    private static final int SEED_QUESTIONS = Integer.getInteger("seedQuestions", 200);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private volatile String bearerToken;
+    private volatile String topicId;
+    private volatile String topicName;
+
+    private final Function<Session, String> authorization = session -> bearerToken;
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    private final ScenarioBuilder readers = scenario("Readers")
+            .exec(http("GET /api/v1/topics")
+                    .get("/api/v1/topics")
+                    .header("Authorization", authorization)
+                    .check(status().is(200)))
+            .exec(http("GET /api/v1/topics/{id}")
+                    .get(session -> "/api/v1/topics/" + topicId)
+                    .header("Authorization", authorization)
+                    .check(status().is(200)))
+            .exec(http("GET /api/v1/questions/{id}")
+                    .get(session -> "/api/v1/questions/" + topicId)
+                    .header("Authorization", authorization)
+                    .check(status().is(200)))
+            .exec(http("GET /api/v1/questions/{id}/page")
+                    .get(session -> "/api/v1/questions/" + topicId + "/page?limit=20")
+                    .header("Authorization", authorization)
+                    .check(status().is(200)));
+
+    private final ScenarioBuilder writers = scenario("Writers")
+            .exec(http("POST /api/v1/questions")
+                    .post("/api/v1/questions")
+                    .header("Authorization", authorization)
+                    .body(StringBody(session -> questionJson("Load test question " + UUID.randomUUID())))
+                    .check(status().is(201)));
+
+    {
+        setUp(
+                readers.injectOpen(constantUsersPerSec(USERS_PER_SECOND).during(DURATION)),
+                writers.injectOpen(constantUsersPerSec(Math.max(1, USERS_PER_SECOND / 10)).during(DURATION))
+        ).protocols(httpProtocol);
+    }
+
+    @Override
+    public void before() {
+        try {
+            bearerToken = "Bearer " + send(HttpRequest.newBuilder(URI.create(BASE_URL + "/loadtest/token")).GET())
+                    .get("access_token").asText();
+            topicName = "Load test " + UUID.randomUUID();
+            topicId = send(authorized("/api/v1/topics").POST(HttpRequest.BodyPublishers.ofString(
+                    OBJECT_MAPPER.createObjectNode().put("name", topicName).toString())))
+                    .get("id").asText();
+            for (int i = 0; i < SEED_QUESTIONS; i++) {
+                send(authorized("/api/v1/questions").POST(HttpRequest.BodyPublishers.ofString(questionJson("Seed question " + UUID.randomUUID()))));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not prepare the load test data at " + BASE_URL, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while preparing the load test data", e);
+        }
+    }
+
+    private String questionJson(String question) {
+        var body = OBJECT_MAPPER.createObjectNode()
+                .put("question", question)
+                .put("answer", "An answer that is long enough to look like a real one.");
+        body.putArray("topics").addObject().put("name", topicName);
+        return body.toString();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .header("Authorization", bearerToken)
+                .header("Content-Type", "application/json");
+    }
+
+    private JsonNode send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IOException(request.build().uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return OBJECT_MAPPER.readTree(response.body());
+    }
+}
@@ -5,10 +5,12 @@ import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @OpenAPIDefinition(info = @Info(title = "Questions API", version = "1.0", description = "Questions API v1.0"))
 @EnableDiscoveryClient
+@EnableScheduling
 public class QuestionsApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,37 @@
+package com.example.questions.config.execution;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Where the {@link ServiceExecutor} runs the blocking parts of the service layer, under
+ * {@code questions.execution}.
+ */
+@Data
+@ConfigurationProperties("questions.execution")
+public class ExecutionProperties {
+    private Mode mode = Mode.VIRTUAL_THREADS;
+    /**
+     * Threads of the {@code BOUNDED_ELASTIC} scheduler.
+     */
+    private int maxThreads = 10 * Runtime.getRuntime().availableProcessors();
+    /**
+     * Tasks the {@code BOUNDED_ELASTIC} scheduler queues once all of its threads are busy.
+     */
+    private int maxQueuedTasks = 100_000;
+
+    public enum Mode {
+        /**
+         * On the calling thread, usually a Netty event loop. Only for comparison.
+         */
+        EVENT_LOOP,
+        /**
+         * On a bounded pool of platform threads.
+         */
+        BOUNDED_ELASTIC,
+        /**
+         * On a new virtual thread per call.
+         */
+        VIRTUAL_THREADS
+    }
+}
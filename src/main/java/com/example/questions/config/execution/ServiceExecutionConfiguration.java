@@ -0,0 +1,23 @@
+package com.example.questions.config.execution;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Sets up the {@link ServiceExecutor} for the configured {@link ExecutionProperties.Mode}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ExecutionProperties.class)
+public class ServiceExecutionConfiguration {
+    @Bean(destroyMethod = "dispose")
+    Scheduler serviceScheduler(ExecutionProperties properties) {
+        return ServiceExecutor.scheduler(properties);
+    }
+
+    @Bean
+    ServiceExecutor serviceExecutor(Scheduler serviceScheduler) {
+        return new ServiceExecutor(serviceScheduler);
+    }
+}
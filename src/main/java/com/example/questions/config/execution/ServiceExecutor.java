@@ -0,0 +1,35 @@
+package com.example.questions.config.execution;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the calls of the service layer that block, such as waiting for the lock of an in-memory index while it is
+ * rebuilt, off the event loop.
+ */
+public class ServiceExecutor {
+    private final Scheduler scheduler;
+
+    public ServiceExecutor(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public <T> Mono<T> call(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+
+    /**
+     * Builds the scheduler for the configured {@link ExecutionProperties.Mode}.
+     */
+    public static Scheduler scheduler(ExecutionProperties properties) {
+        return switch (properties.getMode()) {
+            case EVENT_LOOP -> Schedulers.immediate();
+            case BOUNDED_ELASTIC -> Schedulers.newBoundedElastic(properties.getMaxThreads(), properties.getMaxQueuedTasks(), "questions-service");
+            case VIRTUAL_THREADS -> Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "questions-service");
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.questions.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Memoizes the tokens decoded by another decoder, keyed by the SHA-256 of the token, so a bearer token reused
+ * across requests has its signature and claims verified once. Entries expire at the {@code exp} of the token and
+ * tokens without one are never cached. Failed decodings are not cached either.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+    private final ReactiveJwtDecoder delegate;
+    private final Cache<ByteBuffer, Jwt> jwts;
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.jwts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new JwtExpiry<ByteBuffer, Jwt>((key, jwt) -> jwt))
+                .build();
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        ByteBuffer key = hash(token);
+        Jwt cached = jwts.getIfPresent(key);
+        if (cached != null) return Mono.just(cached);
+
+        return delegate.decode(token).doOnNext(jwt -> {
+            if (jwt.getExpiresAt() != null) jwts.put(key, jwt);
+        });
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.questions.config.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.NonNull;
@@ -8,7 +10,6 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtClaimNames;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
@@ -19,28 +20,50 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Converts tokens into authentications carrying their scopes, client roles and the mask of those roles checked by
+ * the {@code RolePolicy} of each route. Conversions are cached until the
+ * token expires, so clients reusing a token get the same authentication back; a {@code jwt.auth.cache.maximum-size}
+ * of {@code 0} disables the cache.
+ */
 @Component
 public class JwtAuthConverter implements Converter<Jwt, Mono<AbstractAuthenticationToken>> {
     private final JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter =
             new JwtGrantedAuthoritiesConverter();
+    private final Cache<Jwt, AbstractAuthenticationToken> authentications;
 
     @Value("${jwt.auth.converter.principle-attribute}")
     private String principleAttribute;
     @Value("${jwt.auth.converter.resource-id}")
     private String resourceId;
 
+    public JwtAuthConverter(@Value("${jwt.auth.cache.maximum-size:10000}") long maximumCacheSize) {
+        this.authentications = maximumCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maximumCacheSize)
+                        .expireAfter(new JwtExpiry<Jwt, AbstractAuthenticationToken>((jwt, authentication) -> jwt))
+                        .build()
+                : null;
+    }
+
     @Override
     public Mono<AbstractAuthenticationToken> convert(@NonNull Jwt jwt) {
+        if (authentications == null || jwt.getExpiresAt() == null) return Mono.just(authenticate(jwt));
+
+        return Mono.just(authentications.get(jwt, this::authenticate));
+    }
+
+    private AbstractAuthenticationToken authenticate(Jwt jwt) {
         Collection<GrantedAuthority> authorities = Stream.concat(
                 jwtGrantedAuthoritiesConverter.convert(jwt).stream(),
                 extractResourceRoles(jwt).stream()
         ).collect(Collectors.toSet());
 
-        return Mono.just(new JwtAuthenticationToken(
+        return new RoleMaskedAuthenticationToken(
                 jwt,
                 authorities,
                 getPrincipleClaimName(jwt)
-        ));
+        );
     }
 
     private String getPrincipleClaimName(Jwt jwt) {
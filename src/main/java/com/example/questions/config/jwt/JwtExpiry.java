@@ -0,0 +1,36 @@
+package com.example.questions.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BiFunction;
+
+/**
+ * Expires cache entries at the {@code exp} of the token they were derived from.
+ */
+class JwtExpiry<K, V> implements Expiry<K, V> {
+    private final BiFunction<K, V, Jwt> token;
+
+    JwtExpiry(BiFunction<K, V, Jwt> token) {
+        this.token = token;
+    }
+
+    @Override
+    public long expireAfterCreate(K key, V value, long currentTime) {
+        Instant expiresAt = token.apply(key, value).getExpiresAt();
+        if (expiresAt == null) return 0;
+        return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.questions.config.jwt;
+
+import com.example.questions.config.security.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+
+/**
+ * JWT authentication carrying the mask of its {@link Role}s, computed once when the token is converted.
+ */
+public class RoleMaskedAuthenticationToken extends JwtAuthenticationToken {
+    private final long roleMask;
+
+    public RoleMaskedAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities, String name) {
+        super(jwt, authorities, name);
+        this.roleMask = Role.maskOf(authorities);
+    }
+
+    public long getRoleMask() {
+        return roleMask;
+    }
+}
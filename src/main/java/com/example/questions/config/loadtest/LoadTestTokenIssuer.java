@@ -0,0 +1,73 @@
+package com.example.questions.config.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stands in for the Keycloak realm in the {@code loadtest} profile. It serves its signing key at the path the
+ * resource server derives from the issuer uri, and mints RS256 tokens carrying the client roles under
+ * {@code resource_access.<resource-id>.roles}, the same shape {@code JwtAuthConverter} reads from Keycloak.
+ */
+@Profile("loadtest")
+@RestController
+@RequestMapping("/loadtest")
+public class LoadTestTokenIssuer {
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+    private final RSAKey signingKey;
+    private final JwtEncoder jwtEncoder;
+    private final String issuer;
+    private final String resourceId;
+
+    public LoadTestTokenIssuer(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
+                               @Value("${jwt.auth.converter.resource-id}") String resourceId) throws JOSEException {
+        this.signingKey = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+        this.jwtEncoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(signingKey)));
+        this.issuer = issuer;
+        this.resourceId = resourceId;
+    }
+
+    @GetMapping("/protocol/openid-connect/certs")
+    public Map<String, Object> jwks() {
+        return new JWKSet(signingKey.toPublicJWK()).toJSONObject();
+    }
+
+    @GetMapping("/token")
+    public Map<String, Object> token(
+            @RequestParam(name = "username", defaultValue = "loadtest") String username,
+            @RequestParam(name = "roles", defaultValue = "client-hr,client-developer,client-admin") List<String> roles) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(issuer)
+                .subject(username)
+                .claim("preferred_username", username)
+                .claim("scope", "openid profile")
+                .claim("resource_access", Map.of(resourceId, Map.of("roles", roles)))
+                .issuedAt(now)
+                .expiresAt(now.plus(TOKEN_LIFETIME))
+                .build();
+        JwsHeader header = JwsHeader.with(SignatureAlgorithm.RS256).keyId(signingKey.getKeyID()).build();
+
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+        return Map.of("access_token", token, "token_type", "Bearer", "expires_in", TOKEN_LIFETIME.toSeconds());
+    }
+}
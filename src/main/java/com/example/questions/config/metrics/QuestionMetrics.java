@@ -0,0 +1,59 @@
+package com.example.questions.config.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service level meters, next to the per-call ones of {@link RepositoryMetricsInterceptor}:
+ * <ul>
+ *     <li>{@code questions.payload.size}: questions returned per request, tagged with the operation.</li>
+ *     <li>{@code questions.topic-lookups}: topic queries issued per request to fill in the question counts, the
+ *     number to watch for N+1 regressions.</li>
+ *     <li>{@code questions.validation.rejections}: rejected questions, tagged with the exception type.</li>
+ * </ul>
+ * Each meter is registered on first use and then looked up per tag, without going through the registry.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionMetrics {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> payloadSizes = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> topicLookups = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Counter> validationRejections = new ConcurrentHashMap<>();
+
+    public void recordPayloadSize(String operation, long nrOfQuestions) {
+        payloadSizes.computeIfAbsent(operation, key -> DistributionSummary.builder("questions.payload.size")
+                        .baseUnit("questions")
+                        .tag("operation", operation)
+                        .register(meterRegistry))
+                .record(nrOfQuestions);
+    }
+
+    public void recordTopicLookups(String operation, int lookups) {
+        topicLookups.computeIfAbsent(operation, key -> DistributionSummary.builder("questions.topic-lookups")
+                        .baseUnit("queries")
+                        .tag("operation", operation)
+                        .register(meterRegistry))
+                .record(lookups);
+    }
+
+    public void recordValidationRejection(Throwable rejection) {
+        recordValidationRejection(rejection.getClass());
+    }
+
+    /**
+     * Counts a rejection by its exception type, for callers that reject without having an exception at hand.
+     */
+    public void recordValidationRejection(Class<? extends Throwable> rejectionType) {
+        validationRejections.computeIfAbsent(rejectionType, type -> Counter.builder("questions.validation.rejections")
+                        .tag("exception", type.getSimpleName())
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.questions.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds a {@link RepositoryMetricsInterceptor} to every Spring Data repository proxy, so each call of the question
+ * and topic repositories, derived, annotated and custom fragment methods alike, is timed from subscription to
+ * termination.
+ */
+@Configuration(proxyBeanMethods = false)
+public class RepositoryMetricsConfiguration {
+    @Bean
+    static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new RepositoryMetricsInterceptor(
+                                    meterRegistry.getObject(), repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
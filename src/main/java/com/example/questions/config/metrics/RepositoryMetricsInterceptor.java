@@ -0,0 +1,103 @@
+package com.example.questions.config.metrics;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records {@code questions.repository.calls}, tagged with the repository, the method and the outcome, and
+ * {@code questions.repository.results}, the number of documents a {@link Flux} method emitted. Reactive calls are
+ * measured per subscription, since invoking the method only assembles the query.
+ */
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+    static final String CALLS = "questions.repository.calls";
+    static final String RESULTS = "questions.repository.results";
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final String repository;
+    private final Map<String, Map<Outcome, Timer>> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> results = new ConcurrentHashMap<>();
+
+    private enum Outcome { SUCCESS, ERROR, CANCELLED }
+
+    RepositoryMetricsInterceptor(MeterRegistry meterRegistry, String repository) {
+        this.meterRegistry = meterRegistry;
+        this.clock = meterRegistry.config().clock();
+        this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String method = invocation.getMethod().getName();
+        long start = clock.monotonicTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            record(method, Outcome.ERROR, start);
+            throw e;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long subscribed = clock.monotonicTime();
+                return mono.doFinally(signal -> record(method, outcome(signal), subscribed));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long subscribed = clock.monotonicTime();
+                AtomicLong emitted = new AtomicLong();
+                return flux.doOnNext(element -> emitted.incrementAndGet())
+                        .doFinally(signal -> {
+                            record(method, outcome(signal), subscribed);
+                            results(method).record(emitted.get());
+                        });
+            });
+        }
+        record(method, Outcome.SUCCESS, start);
+        return result;
+    }
+
+    private void record(String method, Outcome outcome, long start) {
+        timer(method, outcome).record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Meters are registered on first use and then looked up per method, without going through the registry.
+     */
+    private Timer timer(String method, Outcome outcome) {
+        return timers.computeIfAbsent(method, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, key -> Timer.builder(CALLS)
+                        .tag("repository", repository)
+                        .tag("method", method)
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .register(meterRegistry));
+    }
+
+    private DistributionSummary results(String method) {
+        return results.computeIfAbsent(method, name -> DistributionSummary.builder(RESULTS)
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry));
+    }
+
+    private static Outcome outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> Outcome.ERROR;
+            case CANCEL -> Outcome.CANCELLED;
+            default -> Outcome.SUCCESS;
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.questions.config.mongo;
+
+import com.example.questions.model.Question;
+import com.example.questions.model.Topic;
+import com.mongodb.DBRef;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-shot migration of the questions written before topics were embedded: every {@code DBRef} in {@code topics}
+ * is replaced by an embedded {@code {_id, name}} snapshot of the referenced topic, and references to topics that
+ * no longer exist are dropped. Only documents still holding a {@code DBRef} are matched, so running it again is a
+ * no-op.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "questions.migration.embedded-topics.enabled", havingValue = "true", matchIfMissing = true)
+public class EmbeddedTopicMigration {
+    private static final String TOPICS = "topics";
+    private static final int CONCURRENCY = 8;
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        migrate().subscribe(
+                migrated -> {
+                    if (migrated > 0) log.info("Embedded the topics of {} question(s)", migrated);
+                },
+                error -> log.error("Embedding the topics of existing questions failed", error)
+        );
+    }
+
+    public Mono<Long> migrate() {
+        String questionCollection = mongoTemplate.getCollectionName(Question.class);
+        String topicCollection = mongoTemplate.getCollectionName(Topic.class);
+        Query legacyQuestions = Query.query(Criteria.where(TOPICS + ".$ref").exists(true));
+
+        return mongoTemplate.find(new Query(), Document.class, topicCollection)
+                .collectMap(topic -> topic.get("_id"), topic -> topic.getString("name"))
+                .flatMap(topicNames -> mongoTemplate.find(legacyQuestions, Document.class, questionCollection)
+                        .flatMap(question -> mongoTemplate.updateFirst(
+                                Query.query(Criteria.where("_id").is(question.get("_id"))),
+                                Update.update(TOPICS, embed(question.getList(TOPICS, Object.class, List.of()), topicNames)),
+                                questionCollection), CONCURRENCY)
+                        .count());
+    }
+
+    private List<Document> embed(List<Object> references, Map<Object, String> topicNames) {
+        List<Document> embedded = new ArrayList<>(references.size());
+        for (Object reference : references) {
+            if (reference instanceof DBRef dbRef && topicNames.containsKey(dbRef.getId())) {
+                embedded.add(new Document("_id", dbRef.getId()).append("name", topicNames.get(dbRef.getId())));
+            } else if (reference instanceof Document document) {
+                embedded.add(document);
+            }
+        }
+        return embedded;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.questions.config.mongo;
+
+import com.example.questions.config.mongo.MongoIndexManager.IndexState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.AbstractReactiveHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Exposes the state of the managed indexes as the {@code mongoIndex} health component. A missing, failed or still
+ * building index reports {@code DEGRADED}: queries keep working, but fall back to collection scans.
+ */
+@Component
+@RequiredArgsConstructor
+public class MongoIndexHealthIndicator extends AbstractReactiveHealthIndicator {
+    public static final Status DEGRADED = new Status("DEGRADED", "One or more MongoDB indexes are not ready");
+    private final MongoIndexManager indexManager;
+
+    @Override
+    protected Mono<Health> doHealthCheck(Health.Builder builder) {
+        return indexManager.inspect()
+                .zipWith(indexManager.buildProgress().collectList())
+                .map(inspection -> {
+                    boolean ready = inspection.getT1().values().stream().allMatch(IndexState.READY::equals);
+                    builder.status(ready ? Status.UP : DEGRADED).withDetail("indexes", inspection.getT1());
+                    if (!inspection.getT2().isEmpty()) builder.withDetail("inProgress", inspection.getT2());
+                    if (!indexManager.getBuildFailures().isEmpty()) builder.withDetail("failures", indexManager.getBuildFailures());
+                    return builder.build();
+                });
+    }
+}
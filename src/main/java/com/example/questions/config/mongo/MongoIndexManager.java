@@ -0,0 +1,176 @@
+package com.example.questions.config.mongo;
+
+import com.example.questions.model.Question;
+import com.example.questions.model.Topic;
+import com.mongodb.reactivestreams.client.MongoClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns the indexes of the questions and topics collections. They are declared here rather than through
+ * {@code @Indexed}, created once the application is ready and verified against what the server reports, so the
+ * {@link MongoIndexHealthIndicator} can tell a missing index apart from one that is still being built.
+ * <ul>
+ *     <li>{@code topics_id_id}: multikey index on the embedded topic ids, followed by {@code _id} so listing,
+ *     counting and keyset pagination of the questions of a topic are served by one index.</li>
+ *     <li>{@code name_unique}: exact topic name lookups and uniqueness.</li>
+ *     <li>{@code name_case_insensitive}: case-insensitive topic name lookups, which have to run with the same
+ *     collation to use it.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexManager {
+    private static final Collation CASE_INSENSITIVE = Collation.of("en").strength(Collation.ComparisonLevel.secondary());
+    private static final List<ManagedIndex> INDEXES = List.of(
+            new ManagedIndex(Question.class, new Index()
+                    .on("topics._id", Sort.Direction.ASC)
+                    .on("_id", Sort.Direction.ASC)
+                    .named("topics_id_id")),
+            new ManagedIndex(Topic.class, new Index()
+                    .on("name", Sort.Direction.ASC)
+                    .unique()
+                    .named("name_unique")),
+            new ManagedIndex(Topic.class, new Index()
+                    .on("name", Sort.Direction.ASC)
+                    .collation(CASE_INSENSITIVE)
+                    .named("name_case_insensitive"))
+    );
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoClient mongoClient;
+    private final Map<String, String> buildFailures = new ConcurrentHashMap<>();
+    private final Set<String> building = ConcurrentHashMap.newKeySet();
+    @Value("${questions.indexes.create-on-startup:true}")
+    private boolean createOnStartup;
+
+    public enum IndexState { READY, BUILDING, FAILED, MISSING }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexesOnStartup() {
+        if (!createOnStartup) return;
+
+        ensureIndexes().subscribe(
+                created -> {
+                    if (created > 0) log.info("Created {} missing MongoDB index(es)", created);
+                },
+                error -> log.error("Ensuring the MongoDB indexes failed", error)
+        );
+    }
+
+    /**
+     * Creates every declared index that has no equivalent on the server yet, one at a time, and emits how many
+     * were created. Indexes that already exist under another name are left alone.
+     */
+    public Mono<Long> ensureIndexes() {
+        return Flux.fromIterable(INDEXES)
+                .concatMap(index -> exists(index)
+                        .filter(exists -> !exists)
+                        .flatMap(missing -> create(index)))
+                .count();
+    }
+
+    /**
+     * Reports the state of every declared index, keyed by {@code collection.name}.
+     */
+    public Mono<Map<String, IndexState>> inspect() {
+        return Flux.fromIterable(INDEXES)
+                .concatMap(index -> exists(index).map(exists -> Map.entry(qualifiedName(index), state(index, exists))))
+                .collect(LinkedHashMap::new, (states, entry) -> states.put(entry.getKey(), entry.getValue()));
+    }
+
+    public Map<String, String> getBuildFailures() {
+        return Map.copyOf(buildFailures);
+    }
+
+    /**
+     * Progress of the index builds running on the server, as reported by {@code currentOp}. Empty when nothing is
+     * being built or the user is not allowed to see it.
+     */
+    public Flux<Document> buildProgress() {
+        Document currentOp = new Document("currentOp", 1)
+                .append("$ownOps", true)
+                .append("command.createIndexes", new Document("$exists", true));
+
+        return Mono.from(mongoClient.getDatabase("admin").runCommand(currentOp))
+                .flatMapIterable(result -> result.getList("inprog", Document.class, List.of()))
+                .map(operation -> {
+                    Document progress = new Document("collection", operation.get("ns"));
+                    if (operation.containsKey("msg")) progress.append("message", operation.get("msg"));
+                    if (operation.containsKey("progress")) progress.append("progress", operation.get("progress"));
+                    return progress;
+                })
+                .onErrorResume(error -> Flux.empty());
+    }
+
+    private IndexState state(ManagedIndex index, boolean exists) {
+        if (exists) return IndexState.READY;
+        if (building.contains(qualifiedName(index))) return IndexState.BUILDING;
+        if (buildFailures.containsKey(qualifiedName(index))) return IndexState.FAILED;
+        return IndexState.MISSING;
+    }
+
+    private String qualifiedName(ManagedIndex index) {
+        return mongoTemplate.getCollectionName(index.entityType()) + "." + index.definition().getIndexOptions().getString("name");
+    }
+
+    private Mono<Boolean> exists(ManagedIndex index) {
+        return mongoTemplate.indexOps(index.entityType()).getIndexInfo()
+                .any(existing -> isEquivalent(index.definition(), existing));
+    }
+
+    private Mono<String> create(ManagedIndex index) {
+        String name = qualifiedName(index);
+        return Mono.defer(() -> {
+                    building.add(name);
+                    log.info("Building MongoDB index {}", name);
+                    return mongoTemplate.indexOps(index.entityType()).ensureIndex(index.definition());
+                })
+                .doOnSuccess(created -> buildFailures.remove(name))
+                .onErrorResume(error -> {
+                    log.warn("Building MongoDB index {} failed", name, error);
+                    buildFailures.put(name, String.valueOf(error.getMessage()));
+                    return Mono.empty();
+                })
+                .doFinally(signal -> building.remove(name));
+    }
+
+    private static boolean isEquivalent(Index definition, IndexInfo existing) {
+        List<String> keys = new ArrayList<>(definition.getIndexKeys().keySet());
+        List<String> existingKeys = existing.getIndexFields().stream().map(IndexField::getKey).toList();
+        if (!keys.equals(existingKeys)) return false;
+
+        Document options = definition.getIndexOptions();
+        if (options.getBoolean("unique", false) != existing.isUnique()) return false;
+
+        Document collation = options.get("collation", Document.class);
+        Document existingCollation = existing.getCollation().orElse(null);
+        if (collation == null || existingCollation == null) return collation == existingCollation;
+        return Objects.equals(collation.get("locale"), existingCollation.get("locale"))
+                && Objects.equals(collation.get("strength"), existingCollation.get("strength"));
+    }
+
+    private record ManagedIndex(Class<?> entityType, Index definition) {
+    }
+}
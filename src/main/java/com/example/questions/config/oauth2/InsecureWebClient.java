@@ -8,10 +8,15 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
 
 public class InsecureWebClient {
-    @SneakyThrows
     public static WebClient getInstance() {
+        return getInstance(HttpClient.create());
+    }
+
+    @SneakyThrows
+    public static WebClient getInstance(HttpClient httpClient) {
         var sslContext = SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
-        var httpClient = HttpClient.create().secure(b -> b.sslContext(sslContext));
-        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient.secure(b -> b.sslContext(sslContext))))
+                .build();
     }
 }
@@ -0,0 +1,126 @@
+package com.example.questions.config.oauth2;
+
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the signing keys of the identity provider in memory, so verifying a token does not wait on the provider.
+ * The key set is fetched once the application starts and again every {@code jwt.auth.jwks.refresh-interval}, ahead
+ * of key rotations; it can be seeded from a local JWKS file to serve tokens before the first fetch completes.
+ * <p>
+ * A token signed with an unknown key triggers a refresh, at most once every
+ * {@code jwt.auth.jwks.min-refresh-interval}. Concurrent refreshes share a single request to the provider.
+ */
+@Slf4j
+public class JwkSetManager {
+    private final WebClient webClient;
+    private final String jwkSetUri;
+    private final Duration minRefreshInterval;
+    private final LongSupplier nanoTime;
+    private final AtomicReference<JWKSet> jwkSet = new AtomicReference<>(new JWKSet());
+    private final AtomicReference<CompletableFuture<JWKSet>> inFlight = new AtomicReference<>();
+    private volatile long lastRefresh;
+
+    public JwkSetManager(WebClient webClient, String jwkSetUri, Duration minRefreshInterval, Resource bootstrapLocation) {
+        this(webClient, jwkSetUri, minRefreshInterval, bootstrapLocation, System::nanoTime);
+    }
+
+    JwkSetManager(WebClient webClient, String jwkSetUri, Duration minRefreshInterval, Resource bootstrapLocation,
+                  LongSupplier nanoTime) {
+        this.webClient = webClient;
+        this.jwkSetUri = jwkSetUri;
+        this.minRefreshInterval = minRefreshInterval;
+        this.nanoTime = nanoTime;
+        this.lastRefresh = nanoTime.getAsLong() - minRefreshInterval.toNanos();
+        if (bootstrapLocation != null) bootstrap(bootstrapLocation);
+    }
+
+    /**
+     * Emits the keys matching the header of a token, refreshing the key set first when none does.
+     */
+    public Flux<JWK> select(JWSHeader header) {
+        JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(header));
+        List<JWK> keys = selector.select(jwkSet.get());
+        if (!keys.isEmpty()) return Flux.fromIterable(keys);
+        if (inFlight.get() == null && nanoTime.getAsLong() - lastRefresh < minRefreshInterval.toNanos()) {
+            return Flux.empty();
+        }
+
+        return refresh().flatMapIterable(selector::select);
+    }
+
+    /**
+     * Fetches the key set, or joins the fetch already in progress.
+     */
+    public Mono<JWKSet> refresh() {
+        return Mono.defer(() -> {
+            CompletableFuture<JWKSet> refresh = new CompletableFuture<>();
+            CompletableFuture<JWKSet> current = inFlight.compareAndExchange(null, refresh);
+            if (current != null) return Mono.fromFuture(current, true);
+
+            lastRefresh = nanoTime.getAsLong();
+            fetch().subscribe(
+                    keys -> {
+                        jwkSet.set(keys);
+                        inFlight.set(null);
+                        refresh.complete(keys);
+                    },
+                    error -> {
+                        inFlight.set(null);
+                        refresh.completeExceptionally(error);
+                    }
+            );
+            return Mono.fromFuture(refresh, true);
+        });
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.auth.jwks.refresh-interval:PT5M}")
+    public void refreshOnSchedule() {
+        refresh().subscribe(
+                keys -> log.debug("Loaded {} signing key(s) from {}", keys.getKeys().size(), jwkSetUri),
+                error -> log.warn("Refreshing the signing keys from {} failed, keeping the current ones", jwkSetUri, error)
+        );
+    }
+
+    private Mono<JWKSet> fetch() {
+        return webClient.get()
+                .uri(jwkSetUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty JWK set returned by " + jwkSetUri)))
+                .<JWKSet>handle((body, sink) -> {
+                    try {
+                        sink.next(JWKSet.parse(body));
+                    } catch (ParseException e) {
+                        sink.error(new IllegalStateException("Invalid JWK set returned by " + jwkSetUri, e));
+                    }
+                });
+    }
+
+    private void bootstrap(Resource location) {
+        try {
+            jwkSet.set(JWKSet.parse(location.getContentAsString(StandardCharsets.UTF_8)));
+            log.info("Loaded {} signing key(s) from {}", jwkSet.get().getKeys().size(), location);
+        } catch (IOException | ParseException e) {
+            log.warn("Could not load the signing keys from {}", location, e);
+        }
+    }
+}
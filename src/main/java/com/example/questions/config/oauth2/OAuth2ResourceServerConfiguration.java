@@ -1,28 +1,49 @@
 package com.example.questions.config.oauth2;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
 
 @Configuration
+@ConditionalOnProperty(name = "spring.security.oauth2.resourceserver.jwt.jwk-set-uri")
 public class OAuth2ResourceServerConfiguration {
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofSeconds(5);
+
+    @Bean
+    JwkSetManager jwkSetManager(OAuth2ResourceServerProperties properties,
+                                @Value("${spring.security.oauth2.resourceserver.jwt.useInsecureTrustManager:false}") boolean useInsecureTrustManager,
+                                @Value("${jwt.auth.jwks.min-refresh-interval:PT30S}") Duration minRefreshInterval,
+                                @Value("${jwt.auth.jwks.bootstrap-location:#{null}}") Resource bootstrapLocation) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS)
+                .responseTimeout(RESPONSE_TIMEOUT);
+        WebClient webClient = useInsecureTrustManager
+                ? InsecureWebClient.getInstance(httpClient)
+                : WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+        return new JwkSetManager(webClient, properties.getJwt().getJwkSetUri(), minRefreshInterval, bootstrapLocation);
+    }
+
     @Bean
     @Primary
-    @ConditionalOnProperty(name = {
-            "spring.security.oauth2.resourceserver.jwt.jwk-set-uri",
-            "spring.security.oauth2.resourceserver.jwt.useInsecureTrustManager"
-    })
-    ReactiveJwtDecoder insecureJwtDecoder(OAuth2ResourceServerProperties properties) {
+    ReactiveJwtDecoder jwkSetJwtDecoder(JwkSetManager jwkSetManager) {
         var jwtDecoder = NimbusReactiveJwtDecoder
-                .withJwkSetUri(properties.getJwt().getJwkSetUri())
-                .jwsAlgorithms(algorithms -> algorithms.add(SignatureAlgorithm.from("RS256")))
-                .webClient(InsecureWebClient.getInstance())
+                .withJwkSource(signedJwt -> jwkSetManager.select(signedJwt.getHeader()))
+                .jwsAlgorithm(SignatureAlgorithm.RS256)
                 .build();
         jwtDecoder.setJwtValidator(JwtValidators.createDefault());
         return jwtDecoder;
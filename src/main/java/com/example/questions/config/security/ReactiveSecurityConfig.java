@@ -1,30 +1,39 @@
 package com.example.questions.config.security;
 
+import com.example.questions.config.jwt.CachingReactiveJwtDecoder;
 import com.example.questions.config.jwt.JwtAuthConverter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
 @Configuration
 @EnableWebFluxSecurity
-@EnableReactiveMethodSecurity
 @RequiredArgsConstructor
 public class ReactiveSecurityConfig {
+    private static final RolePolicy CLIENTS = RolePolicy.anyOf(Role.CLIENT_HR, Role.CLIENT_DEVELOPER, Role.CLIENT_ADMIN);
     private final JwtAuthConverter jwtAuthConverter;
+    @Value("${jwt.auth.cache.maximum-size:10000}")
+    private long maximumCachedTokens;
+
     @Bean
-    public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http, ReactiveJwtDecoder jwtDecoder) {
         http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .authorizeExchange(exchanges -> exchanges
                         .pathMatchers("/eureka/**").permitAll()
+                        .pathMatchers("/api/v1/questions/**", "/api/v1/topics/**").access(CLIENTS)
                         .anyExchange().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt
+                                .jwtDecoder(maximumCachedTokens > 0
+                                        ? new CachingReactiveJwtDecoder(jwtDecoder, maximumCachedTokens)
+                                        : jwtDecoder)
                                 .jwtAuthenticationConverter(jwtAuthConverter)
                         )
                 );
@@ -0,0 +1,48 @@
+package com.example.questions.config.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Client roles granted by the identity provider. Each role owns one bit, so a set of roles fits in a {@code long}
+ * and checking a route against the roles of a caller is a single {@code &}.
+ */
+public enum Role {
+    CLIENT_HR("client-hr"),
+    CLIENT_DEVELOPER("client-developer"),
+    CLIENT_ADMIN("client-admin");
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private final String authority;
+    private final long mask;
+
+    Role(String name) {
+        this.authority = ROLE_PREFIX + name;
+        this.mask = 1L << ordinal();
+    }
+
+    public String getAuthority() {
+        return authority;
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    public static long maskOf(Role... roles) {
+        long mask = 0;
+        for (Role role : roles) mask |= role.mask;
+        return mask;
+    }
+
+    public static long maskOf(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            for (Role role : values()) {
+                if (role.authority.equals(authority.getAuthority())) mask |= role.mask;
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.questions.config.security;
+
+import com.example.questions.config.jwt.RoleMaskedAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+/**
+ * Grants access to callers holding at least one of a set of roles, compiled into a mask when the security chain
+ * is built. Authentications created by the {@code JwtAuthConverter} carry their own mask, so the check does not go
+ * through the authorities of the caller.
+ */
+public final class RolePolicy implements ReactiveAuthorizationManager<AuthorizationContext> {
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    private final long requiredMask;
+
+    private RolePolicy(long requiredMask) {
+        this.requiredMask = requiredMask;
+    }
+
+    public static RolePolicy anyOf(Role... roles) {
+        return new RolePolicy(Role.maskOf(roles));
+    }
+
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        return authentication
+                .filter(Authentication::isAuthenticated)
+                .map(caller -> (roleMask(caller) & requiredMask) != 0 ? GRANTED : DENIED)
+                .defaultIfEmpty(DENIED);
+    }
+
+    private static long roleMask(Authentication authentication) {
+        if (authentication instanceof RoleMaskedAuthenticationToken token) return token.getRoleMask();
+        return Role.maskOf(authentication.getAuthorities());
+    }
+}
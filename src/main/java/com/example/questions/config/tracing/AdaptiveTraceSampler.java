@@ -0,0 +1,128 @@
+package com.example.questions.config.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides, once the root span of a trace has ended, whether the trace is exported. Failed and slow traces are
+ * always kept; the others are kept with the probability of the first matching endpoint, or the default one. Kept
+ * traces consume a per second budget of spans, and probabilistic ones are dropped once it is spent.
+ * <p>
+ * Every decision is counted in {@code questions.tracing.sampler.decisions}, tagged with the endpoint, the decision
+ * and its reason.
+ */
+public class AdaptiveTraceSampler {
+    static final String DECISIONS = "questions.tracing.sampler.decisions";
+    private static final long NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+    private final TraceSamplingProperties properties;
+    private final List<EndpointProbability> endpoints;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoTime;
+    private final Map<String, Map<Reason, Counter>> decisions = new ConcurrentHashMap<>();
+    private long windowStart;
+    private int spansInWindow;
+
+    public enum Reason { ERROR, SLOW, PROBABILITY, NOT_SAMPLED, RATE_LIMITED, OVERFLOW, EXPIRED }
+
+    public AdaptiveTraceSampler(TraceSamplingProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveTraceSampler(TraceSamplingProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoTime = nanoTime;
+        this.windowStart = nanoTime.getAsLong();
+        this.endpoints = properties.getEndpoints().stream()
+                .map(endpoint -> new EndpointProbability(PathPatternParser.defaultInstance.parse(endpoint.getPattern()),
+                        endpoint.getProbability()))
+                .toList();
+    }
+
+    /**
+     * @param endpoint the {@code uri} tag of the root span, {@code null} for traces not started by a request
+     * @param nrOfSpans spans the trace would export
+     */
+    public boolean isSampled(String endpoint, boolean error, Duration duration, int nrOfSpans) {
+        Reason reason;
+        if (error) {
+            reason = Reason.ERROR;
+            consume(nrOfSpans, true);
+        } else if (duration.compareTo(properties.getSlowThreshold()) >= 0) {
+            reason = Reason.SLOW;
+            consume(nrOfSpans, true);
+        } else if (ThreadLocalRandom.current().nextDouble() >= probability(endpoint)) {
+            reason = Reason.NOT_SAMPLED;
+        } else {
+            reason = consume(nrOfSpans, false) ? Reason.PROBABILITY : Reason.RATE_LIMITED;
+        }
+
+        boolean sampled = reason == Reason.ERROR || reason == Reason.SLOW || reason == Reason.PROBABILITY;
+        record(endpoint, sampled, reason);
+        return sampled;
+    }
+
+    /**
+     * Counts a trace dropped before a decision could be made, because too many traces were pending.
+     */
+    public void recordOverflow(String endpoint) {
+        record(endpoint, false, Reason.OVERFLOW);
+    }
+
+    /**
+     * Counts a trace dropped because its root span did not end within the pending timeout.
+     */
+    public void recordExpired() {
+        record(null, false, Reason.EXPIRED);
+    }
+
+    private double probability(String endpoint) {
+        if (endpoint != null) {
+            PathContainer path = PathContainer.parsePath(endpoint);
+            for (EndpointProbability candidate : endpoints) {
+                if (candidate.pattern().matches(path)) return candidate.probability();
+            }
+        }
+        return properties.getProbability();
+    }
+
+    private synchronized boolean consume(int nrOfSpans, boolean force) {
+        long now = nanoTime.getAsLong();
+        if (now - windowStart >= NANOS_PER_SECOND) {
+            windowStart = now;
+            spansInWindow = 0;
+        }
+        if (!force && spansInWindow + nrOfSpans > properties.getMaxSpansPerSecond()) return false;
+
+        spansInWindow += nrOfSpans;
+        return true;
+    }
+
+    /**
+     * Counters are registered on first use and then looked up per endpoint and reason, without going through the
+     * registry.
+     */
+    private void record(String endpoint, boolean sampled, Reason reason) {
+        String endpointTag = endpoint == null ? "none" : endpoint;
+        decisions.computeIfAbsent(endpointTag, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(reason, key -> Counter.builder(DECISIONS)
+                        .tag("endpoint", endpointTag)
+                        .tag("decision", sampled ? "sampled" : "dropped")
+                        .tag("reason", reason.name().toLowerCase())
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private record EndpointProbability(PathPattern pattern, double probability) {
+    }
+}
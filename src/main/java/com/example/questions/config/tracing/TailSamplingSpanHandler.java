@@ -0,0 +1,190 @@
+package com.example.questions.config.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sits in front of the span handlers configured by Spring Boot, the Zipkin reporter among them. Finished spans are
+ * held back per trace until its local root span ends, and then either all of them are handed to the delegates or
+ * none is, as decided by the {@link AdaptiveTraceSampler}. Only spans that are exported get encoded and queued.
+ * <p>
+ * A trace leaves the pending traces as soon as it is decided, or is dropped once it has waited for
+ * {@code pending-timeout}. Only the decision is kept, in a cache bounded by {@code max-decided-traces}, so spans
+ * ending after their root follow it instead of waiting for a root that already ended.
+ */
+class TailSamplingSpanHandler extends SpanHandler {
+    private static final String SERVER_ERROR = "SERVER_ERROR";
+    private final List<SpanHandler> delegates;
+    private final AdaptiveTraceSampler sampler;
+    private final TraceSamplingProperties properties;
+    private final Cache<Long, PendingTrace> pendingTraces;
+    private final Cache<Long, Boolean> decisions;
+    private final AtomicInteger nrOfPendingTraces = new AtomicInteger();
+
+    TailSamplingSpanHandler(List<SpanHandler> delegates, AdaptiveTraceSampler sampler, TraceSamplingProperties properties) {
+        this(delegates, sampler, properties, Ticker.systemTicker());
+    }
+
+    TailSamplingSpanHandler(List<SpanHandler> delegates, AdaptiveTraceSampler sampler, TraceSamplingProperties properties,
+                            Ticker ticker) {
+        this.delegates = List.copyOf(delegates);
+        this.sampler = sampler;
+        this.properties = properties;
+        this.pendingTraces = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxPendingTraces())
+                .expireAfterWrite(properties.getPendingTimeout())
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .<Long, PendingTrace>evictionListener((id, trace, cause) -> {
+                    if (trace == null || trace.decide(false) == null) return;
+
+                    nrOfPendingTraces.decrementAndGet();
+                    if (cause == RemovalCause.EXPIRED) {
+                        sampler.recordExpired();
+                    } else {
+                        sampler.recordOverflow(null);
+                    }
+                })
+                .build();
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxDecidedTraces())
+                .expireAfterWrite(properties.getPendingTimeout())
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    @Override
+    public boolean begin(TraceContext context, MutableSpan span, TraceContext parent) {
+        for (SpanHandler delegate : delegates) delegate.begin(context, span, parent);
+        return true;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (!context.isLocalRoot()) {
+            if (cause != Cause.FINISHED) return forward(context, span, cause);
+            hold(context, span);
+            return true;
+        }
+
+        long id = context.localRootId();
+        PendingTrace trace = pendingTraces.getIfPresent(id);
+        if (cause != Cause.FINISHED) {
+            decided(id, false, trace, trace == null ? null : trace.decide(false));
+            return forward(context, span, cause);
+        }
+
+        boolean error = span.error() != null || span.tag("error") != null || SERVER_ERROR.equals(span.tag("outcome"));
+        Duration duration = Duration.of(span.finishTimestamp() - span.startTimestamp(), ChronoUnit.MICROS);
+        boolean sampled;
+        List<PendingSpan> pendingSpans = null;
+        if (trace == null) {
+            sampled = sampler.isSampled(span.tag("uri"), error, duration, 1);
+        } else {
+            synchronized (trace) {
+                sampled = sampler.isSampled(span.tag("uri"), error, duration, trace.spans.size() + 1);
+                pendingSpans = trace.decide(sampled);
+            }
+        }
+        decided(id, sampled, trace, pendingSpans);
+        if (sampled) forward(context, span, cause);
+        return true;
+    }
+
+    private void hold(TraceContext context, MutableSpan span) {
+        long id = context.localRootId();
+        PendingTrace trace = pendingTraces.getIfPresent(id);
+        if (trace == null) {
+            // The local root has already ended: late spans follow its decision instead of waiting for another one.
+            Boolean decision = decisions.getIfPresent(id);
+            if (decision != null) {
+                if (decision) forward(context, span, Cause.FINISHED);
+                return;
+            }
+
+            if (nrOfPendingTraces.get() >= properties.getMaxPendingTraces()) pendingTraces.cleanUp();
+            if (nrOfPendingTraces.get() >= properties.getMaxPendingTraces()) {
+                sampler.recordOverflow(null);
+                return;
+            }
+            trace = pendingTraces.get(id, key -> {
+                nrOfPendingTraces.incrementAndGet();
+                return new PendingTrace();
+            });
+            // The root may have been decided since the first lookup; it then no longer looks at pending traces.
+            decision = decisions.getIfPresent(id);
+            if (decision != null) settle(id, trace, decision);
+        }
+
+        boolean sampled;
+        synchronized (trace) {
+            if (trace.sampled == null) {
+                if (trace.spans.size() < properties.getMaxSpansPerTrace()) trace.spans.add(new PendingSpan(context, span));
+                return;
+            }
+            sampled = trace.sampled;
+        }
+        if (sampled) forward(context, span, Cause.FINISHED);
+    }
+
+    /**
+     * Remembers the decision for late spans and releases the pending trace. A child that opened another pending
+     * entry while the root was being decided is settled the same way.
+     */
+    private void decided(long id, boolean sampled, PendingTrace trace, List<PendingSpan> pendingSpans) {
+        decisions.put(id, sampled);
+        if (pendingSpans != null) release(id, trace, sampled, pendingSpans);
+
+        PendingTrace opened = pendingTraces.getIfPresent(id);
+        if (opened != null && opened != trace) settle(id, opened, sampled);
+    }
+
+    private void settle(long id, PendingTrace trace, boolean sampled) {
+        List<PendingSpan> pendingSpans = trace.decide(sampled);
+        if (pendingSpans != null) release(id, trace, sampled, pendingSpans);
+    }
+
+    private void release(long id, PendingTrace trace, boolean sampled, List<PendingSpan> pendingSpans) {
+        pendingTraces.asMap().remove(id, trace);
+        nrOfPendingTraces.decrementAndGet();
+        if (sampled) pendingSpans.forEach(pending -> forward(pending.context(), pending.span(), Cause.FINISHED));
+    }
+
+    private boolean forward(TraceContext context, MutableSpan span, Cause cause) {
+        for (SpanHandler delegate : delegates) {
+            if (!delegate.end(context, span, cause)) return false;
+        }
+        return true;
+    }
+
+    private record PendingSpan(TraceContext context, MutableSpan span) {
+    }
+
+    private static final class PendingTrace {
+        private final List<PendingSpan> spans = new ArrayList<>();
+        private Boolean sampled;
+
+        /**
+         * @return the spans held so far, or {@code null} if the trace was already decided
+         */
+        synchronized List<PendingSpan> decide(boolean sampled) {
+            if (this.sampled != null) return null;
+            this.sampled = sampled;
+            List<PendingSpan> pendingSpans = List.copyOf(spans);
+            spans.clear();
+            return pendingSpans;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.questions.config.tracing;
+
+import brave.TracingCustomizer;
+import brave.handler.SpanHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Replaces uniform head sampling with the {@link AdaptiveTraceSampler}. Brave keeps recording every trace, which
+ * is what lets errors and slow requests be kept after the fact, while the span handlers set up by Spring Boot are
+ * moved behind a {@link TailSamplingSpanHandler} so only the selected traces reach Zipkin.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TraceSamplingProperties.class)
+@ConditionalOnProperty(name = "questions.tracing.sampling.enabled", havingValue = "true", matchIfMissing = true)
+public class TraceSamplingConfiguration {
+    @Bean
+    AdaptiveTraceSampler adaptiveTraceSampler(TraceSamplingProperties properties, MeterRegistry meterRegistry) {
+        return new AdaptiveTraceSampler(properties, meterRegistry);
+    }
+
+    @Bean
+    TracingCustomizer tailSamplingTracingCustomizer(AdaptiveTraceSampler sampler, TraceSamplingProperties properties) {
+        return builder -> {
+            List<SpanHandler> spanHandlers = List.copyOf(builder.spanHandlers());
+            builder.clearSpanHandlers();
+            builder.addSpanHandler(new TailSamplingSpanHandler(spanHandlers, sampler, properties));
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.questions.config.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the {@link AdaptiveTraceSampler}, under {@code questions.tracing.sampling}.
+ */
+@Data
+@ConfigurationProperties("questions.tracing.sampling")
+public class TraceSamplingProperties {
+    /**
+     * Probability used for traces not matching any of the {@link #endpoints}.
+     */
+    private double probability = 0.1;
+    /**
+     * Spans exported per second before probabilistically sampled traces are dropped. Failed and slow traces are
+     * always exported and are not capped, but their spans use up the same budget.
+     */
+    private int maxSpansPerSecond = 100;
+    /**
+     * Traces whose root span takes at least this long are always exported.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+    /**
+     * Traces waiting for their root span to end. Spans of traces beyond this limit are dropped.
+     */
+    private int maxPendingTraces = 1000;
+    /**
+     * Decisions of ended traces remembered for spans ending after their root. Late spans of traces beyond this limit
+     * are held as a new pending trace and dropped once it expires.
+     */
+    private int maxDecidedTraces = 10_000;
+    /**
+     * Spans buffered per trace while waiting for its root span to end.
+     */
+    private int maxSpansPerTrace = 256;
+    /**
+     * How long spans are held for a root span that has not ended, and how long a decision is remembered for spans
+     * ending after their root.
+     */
+    private Duration pendingTimeout = Duration.ofSeconds(30);
+    /**
+     * Per endpoint probabilities, matched in order against the {@code uri} tag of the server span.
+     */
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Data
+    public static class Endpoint {
+        private String pattern;
+        private double probability;
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.questions.controller;
 
+import com.example.questions.model.DuplicateGroup;
+import com.example.questions.model.ImportReport;
 import com.example.questions.model.Question;
+import com.example.questions.model.QuestionPage;
 import com.example.questions.model.ResponseData;
-import com.example.questions.model.Status;
+import com.example.questions.model.SampleRequest;
+import com.example.questions.model.SearchHit;
+import com.example.questions.service.QuestionImportService;
 import com.example.questions.service.QuestionService;
+import com.example.questions.service.TopicQuestionsCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -14,9 +20,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -27,19 +34,19 @@ import java.util.List;
 @RequiredArgsConstructor
 public class QuestionController {
     private final QuestionService service;
+    private final QuestionImportService importService;
+    private final TopicQuestionsCache topicQuestionsCache;
 
     @Operation(summary = "Delete a question by id", description = "Return a response data object with status 200 if successful, or 404 if failed")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Question deleted successfully", content = @Content(schema = @Schema(implementation = ResponseData.class))),
             @ApiResponse(responseCode = "404", description = "Question not found")
     })
-    @PreAuthorize("hasRole('ROLE_client-hr') or hasRole('ROLE_client-developer') or hasRole('ROLE_client-admin')")
     @DeleteMapping("/{id}")
     public Mono<ResponseEntity<ResponseData>> deleteQuestion(
             @Parameter(description = "ID of the question to be deleted", required = true) @PathVariable("id") String id) {
-        ResponseData responseData = service.deleteQuestion(id);
-        HttpStatus status = Status.SUCCESS.equals(responseData.getStatus()) ? HttpStatus.OK : HttpStatus.NOT_FOUND;
-        return Mono.just(ResponseEntity.status(status).body(responseData));
+        return service.deleteQuestion(id)
+                .map(ResponseEntity::ok);
     }
 
     @Operation(summary = "Add a question", description = "Return a question object with status 201 if successful, or 400 if failed")
@@ -47,11 +54,55 @@ public class QuestionController {
             @ApiResponse(responseCode = "201", description = "Question created successfully", content = @Content(schema = @Schema(implementation = Question.class))),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters")
     })
-    @PreAuthorize("hasRole('ROLE_client-hr') or hasRole('ROLE_client-developer') or hasRole('ROLE_client-admin')")
     @PostMapping()
-    public Mono<ResponseEntity<Question>> addQuestion(@RequestBody Question question) throws Exception {
-        Question createdQuestion = service.createQuestion(question);
-        return Mono.just(ResponseEntity.status(HttpStatus.CREATED).body(createdQuestion));
+    public Mono<ResponseEntity<Question>> addQuestion(@RequestBody Question question) {
+        return service.createQuestion(question)
+                .map(createdQuestion -> ResponseEntity.status(HttpStatus.CREATED).body(createdQuestion));
+    }
+
+    @Operation(summary = "Import questions", description = "Import a JSON array or a newline delimited JSON stream of questions and return the outcome of every question")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import finished, see the result of every question", content = @Content(schema = @Schema(implementation = ImportReport.class)))
+    })
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<ImportReport>> importQuestions(@RequestBody Flux<Question> questions) {
+        return importService.importQuestions(questions)
+                .map(ResponseEntity::ok);
+    }
+
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Questions sampled successfully", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Question.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid topics, weights or size")
+    })
+    @Operation(summary = "Sample an interview set", description = "Return up to size random questions of the given topics, spread over the topics by weight and leaving out the excluded questions")
+    @PostMapping("/sample")
+    public Mono<ResponseEntity<List<Question>>> sampleQuestions(@RequestBody SampleRequest request) {
+        return service.sampleQuestions(request)
+                .map(ResponseEntity::ok);
+    }
+
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Groups of near-identical questions", content = @Content(array = @ArraySchema(schema = @Schema(implementation = DuplicateGroup.class))))
+    })
+    @Operation(summary = "Report duplicate questions", description = "Return every group of questions whose text is near-identical")
+    @GetMapping("/duplicates")
+    public Mono<ResponseEntity<List<DuplicateGroup>>> getDuplicateQuestions() {
+        return service.findDuplicateQuestions()
+                .map(ResponseEntity::ok);
+    }
+
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching questions ranked by relevance", content = @Content(array = @ArraySchema(schema = @Schema(implementation = SearchHit.class)))),
+            @ApiResponse(responseCode = "400", description = "Missing query, invalid topic or limit")
+    })
+    @Operation(summary = "Search questions", description = "Return the questions whose question or answer text best matches the query, optionally within one topic")
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<SearchHit>>> searchQuestions(
+            @Parameter(description = "Words to look for in the question and answer text", required = true) @RequestParam(name = "q") String query,
+            @Parameter(description = "ID of the topic to search in; omit it to search every topic") @RequestParam(name = "topicId", required = false) String topicId,
+            @Parameter(description = "Maximum number of hits") @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return service.searchQuestions(query, topicId, limit)
+                .map(ResponseEntity::ok);
     }
 
     @ApiResponses({
@@ -59,12 +110,40 @@ public class QuestionController {
             @ApiResponse(responseCode = "404", description = "Topic not found")
     })
     @Operation(summary = "Get all questions", description = "Return a list of question objects")
-    @PreAuthorize("hasRole('ROLE_client-hr') or hasRole('ROLE_client-developer') or hasRole('ROLE_client-admin')")
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<List<Question>>> getQuestionsByTopicId(
-            @Parameter(description = "ID of the topic to retrieve questions for", required = true) @PathVariable("id") String topicId) throws Exception {
-        List<Question> questions = service.getQuestionsByTopicId(topicId);
-        return Mono.just(ResponseEntity.ok(questions));
+    public Mono<ResponseEntity<byte[]>> getQuestionsByTopicId(
+            @Parameter(description = "ID of the topic to retrieve questions for", required = true) @PathVariable("id") String topicId,
+            @Parameter(description = "Whether to fill in the number of questions of every returned topic") @RequestParam(name = "includeNrOfQuestions", defaultValue = "false") boolean includeNrOfQuestions) {
+        return topicQuestionsCache.get(topicId, includeNrOfQuestions,
+                        () -> service.getQuestionsByTopicId(topicId, includeNrOfQuestions).collectList())
+                .map(body -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body));
+    }
+
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Questions streamed successfully", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = Question.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid topic")
+    })
+    @Operation(summary = "Stream all questions", description = "Return the questions of a topic as newline delimited JSON, one question per line")
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Question> streamQuestionsByTopicId(
+            @Parameter(description = "ID of the topic to stream questions for", required = true) @PathVariable("id") String topicId,
+            @Parameter(description = "Whether to fill in the number of questions of every returned topic") @RequestParam(name = "includeNrOfQuestions", defaultValue = "false") boolean includeNrOfQuestions) {
+        return service.getQuestionsByTopicId(topicId, includeNrOfQuestions);
+    }
+
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully", content = @Content(schema = @Schema(implementation = QuestionPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid topic, cursor or limit")
+    })
+    @Operation(summary = "Get a page of questions", description = "Return up to limit questions ordered by id, starting after the given cursor, and the cursor of the next page")
+    @GetMapping("/{id}/page")
+    public Mono<ResponseEntity<QuestionPage>> getQuestionsPageByTopicId(
+            @Parameter(description = "ID of the topic to retrieve questions for", required = true) @PathVariable("id") String topicId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; omit it for the first page") @RequestParam(name = "after", required = false) String after,
+            @Parameter(description = "Maximum number of questions on the page") @RequestParam(name = "limit", defaultValue = "20") int limit,
+            @Parameter(description = "Whether to fill in the number of questions of every returned topic") @RequestParam(name = "includeNrOfQuestions", defaultValue = "false") boolean includeNrOfQuestions) {
+        return service.getQuestionsPageByTopicId(topicId, after, limit, includeNrOfQuestions)
+                .map(ResponseEntity::ok);
     }
 
     @ApiResponses({
@@ -73,11 +152,10 @@ public class QuestionController {
             @ApiResponse(responseCode = "404", description = "Question not found")
     })
     @Operation(summary = "Edit a question", description = "Return a question object with status 200 if successful, or 400 if failed")
-    @PreAuthorize("hasRole('ROLE_client-hr') or hasRole('ROLE_client-developer') or hasRole('ROLE_client-admin')")
     @PutMapping("/{id}")
     public Mono<ResponseEntity<Question>> editQuestion(@Parameter(description = "ID of the question to be edited", required = true) @PathVariable("id") String id,
-                                                       @RequestBody Question question) throws Exception {
-        Question updatedQuestion = service.updateQuestion(id, question.getQuestion(), question.getAnswer(), question.getTopics());
-        return Mono.just(ResponseEntity.ok(updatedQuestion));
+                                                       @RequestBody Question question) {
+        return service.updateQuestion(id, question.getQuestion(), question.getAnswer(), question.getTopics())
+                .map(ResponseEntity::ok);
     }
 }
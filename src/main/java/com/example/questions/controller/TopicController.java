@@ -1,52 +1,61 @@
 package com.example.questions.controller;
 
 import com.example.questions.model.Topic;
+import com.example.questions.service.TopicListingCache;
 import com.example.questions.service.TopicService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 @Tag(name = "Topics", description = "Operations related to topics")
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/topics")
 public class TopicController {
     private final TopicService topicService;
+    private final TopicListingCache topicListingCache;
 
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Topic added successfully", content = @Content(schema = @Schema(implementation = Topic.class))),
             @ApiResponse(responseCode = "400", description = "Failed to add topic")
     })
     @Operation(summary = "Add a topic", description = "Return a topic object with status 201 if successful, or 400 if failed")
-    @PreAuthorize("hasRole('ROLE_client-hr') or hasRole('ROLE_client-developer') or hasRole('ROLE_client-admin')")
     @PostMapping()
-    public Mono<ResponseEntity<Topic>> addTopic(@Parameter(description = "Topic object to be added to the database") @RequestBody Topic topic) throws Exception {
-        Topic createdTopic = topicService.addTopic(topic);
-        return Mono.just(new ResponseEntity<>(createdTopic, HttpStatus.CREATED));
+    public Mono<ResponseEntity<Topic>> addTopic(@Parameter(description = "Topic object to be added to the database") @RequestBody Topic topic) {
+        return topicService.addTopic(topic)
+                .map(createdTopic -> new ResponseEntity<>(createdTopic, HttpStatus.CREATED));
     }
 
+    /**
+     * Serves the cached listing with its ETag; WebFlux answers a matching {@code If-None-Match} with 304 before the
+     * body is written.
+     */
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Topic retrieved successfully", content = @Content(schema = @Schema(implementation = Topic.class))),
+            @ApiResponse(responseCode = "200", description = "Topics retrieved successfully", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Topic.class)))),
+            @ApiResponse(responseCode = "304", description = "Topics not modified since the given ETag"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @Operation(summary = "Get all topics", description = "Return a list of topic objects")
-    @PreAuthorize("hasRole('ROLE_client-hr') or hasRole('ROLE_client-developer') or hasRole('ROLE_client-admin')")
     @GetMapping()
-    public Mono<ResponseEntity<List<Topic>>> displayTopics() {
-        List<Topic> topics = topicService.findAll();
-        return Mono.just(new ResponseEntity<>(topics, HttpStatus.OK));
+    public Mono<ResponseEntity<byte[]>> displayTopics() {
+        return topicListingCache.get()
+                .map(listing -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .cacheControl(CacheControl.noCache())
+                        .eTag(listing.eTag())
+                        .body(listing.body()));
     }
 
     @ApiResponses(value = {
@@ -54,10 +63,9 @@ public class TopicController {
             @ApiResponse(responseCode = "404", description = "Topic not found")
     })
     @Operation(summary = "Get a topic by id", description = "Return a topic object")
-    @PreAuthorize("hasRole('ROLE_client-hr') or hasRole('ROLE_client-developer') or hasRole('ROLE_client-admin')")
     @GetMapping("/{id}")
     public Mono<ResponseEntity<Topic>> getTopicById(@Parameter(description = "ID of the topic to be retrieved", required = true) @PathVariable("id") String id) {
-        Topic topic = topicService.findById(id);
-        return Mono.just(new ResponseEntity<>(topic, HttpStatus.OK));
+        return topicService.findById(id)
+                .map(topic -> new ResponseEntity<>(topic, HttpStatus.OK));
     }
 }
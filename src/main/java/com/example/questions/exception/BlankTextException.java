@@ -1,8 +1,12 @@
 package com.example.questions.exception;
 
+/**
+ * Rejection of required text left empty. Carries no stack trace: it is an expected outcome of bad input, and
+ * instances may be shared.
+ */
 public class BlankTextException extends Exception {
 
     public BlankTextException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -1,7 +1,11 @@
 package com.example.questions.exception;
 
+/**
+ * Rejection of invalid input. Carries no stack trace, so a client sending bad requests in a loop does not cost a
+ * stack walk per request.
+ */
 public class InvalidInputException extends Exception {
     public InvalidInputException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,7 @@
+package com.example.questions.exception;
+
+public class QuestionNotFoundException extends RuntimeException {
+    public QuestionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -33,4 +33,13 @@ public class RestExceptionHandler {
         );
         return new ResponseEntity<>(questionsException, questionsException.getHttpStatus());
     }
+
+    @ExceptionHandler(value = {QuestionNotFoundException.class})
+    public ResponseEntity<Object> handleQuestionNotFoundException(QuestionNotFoundException exception) {
+        QuestionsException questionsException = new QuestionsException(
+                exception.getMessage(),
+                HttpStatus.NOT_FOUND
+        );
+        return new ResponseEntity<>(questionsException, questionsException.getHttpStatus());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.questions.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Questions whose text is near-identical, ordered by id.
+ */
+@AllArgsConstructor
+@Data
+public class DuplicateGroup {
+    private List<String> questionIds;
+}
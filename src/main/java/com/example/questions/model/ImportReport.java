@@ -0,0 +1,14 @@
+package com.example.questions.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Data
+public class ImportReport {
+    private int imported;
+    private int failed;
+    private List<ImportResult> results;
+}
@@ -0,0 +1,17 @@
+package com.example.questions.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one question of a bulk import. {@code index} is its position in the request; {@code id} is only set
+ * for imported questions and {@code message} only for rejected ones.
+ */
+@AllArgsConstructor
+@Data
+public class ImportResult {
+    private int index;
+    private Status status;
+    private String id;
+    private String message;
+}
@@ -3,7 +3,6 @@ package com.example.questions.model;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -19,7 +18,10 @@ public class Question {
     private String question;
     @Field(name = "answer")
     private String answer;
-    @DBRef
+    /**
+     * Embedded {@code {_id, name}} snapshots of the topics, so reading a question needs no lookups in the topics
+     * collection. Question counts are never stored here.
+     */
     private List<Topic> topics;
 
     public Question(String question, String answer, List<Topic> topics) {
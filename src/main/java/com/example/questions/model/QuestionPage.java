@@ -0,0 +1,17 @@
+package com.example.questions.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of questions ordered by id. {@code nextCursor} is the id of the last question on the page and is
+ * {@code null} once there is nothing left to fetch.
+ */
+@AllArgsConstructor
+@Data
+public class QuestionPage {
+    private List<Question> questions;
+    private String nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.example.questions.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asks for {@code size} random questions spread over {@code topicIds}. Topics get a share of the questions
+ * proportional to their weight, 1 when missing from {@code weights}; questions in {@code excludeIds} are never
+ * returned.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SampleRequest {
+    private List<String> topicIds;
+    private Map<String, Double> weights;
+    private List<String> excludeIds;
+    private int size;
+}
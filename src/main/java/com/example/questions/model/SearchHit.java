@@ -0,0 +1,14 @@
+package com.example.questions.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A question matching a search, with its BM25 score; higher scores rank first.
+ */
+@AllArgsConstructor
+@Data
+public class SearchHit {
+    private Question question;
+    private double score;
+}
@@ -4,8 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.annotation.Transient;
-import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -15,8 +13,6 @@ import org.springframework.data.mongodb.core.mapping.Document;
 public class Topic {
     @Id
     private String id;
-    @Indexed(unique = true)
     private String name;
-    @Transient
     private Integer nrOfQuestions;
 }
@@ -0,0 +1,11 @@
+package com.example.questions.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TopicQuestionCount {
+    private String topicId;
+    private int nrOfQuestions;
+}
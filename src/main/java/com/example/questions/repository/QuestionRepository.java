@@ -1,19 +1,19 @@
 package com.example.questions.repository;
 
 import com.example.questions.model.Question;
-import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
-
-import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Repository
-public interface QuestionRepository extends MongoRepository<Question, String> {
-    @Query(value = "{topics : ?0}", count = true)
-    int getNrOfQuestionsByTopicId(String topicId);
+public interface QuestionRepository extends ReactiveMongoRepository<Question, String>, QuestionRepositoryCustom {
+    @Query(value = "{'topics._id': ?0}", count = true)
+    Mono<Long> getNrOfQuestionsByTopicId(String topicId);
 
-    @Query("{topics: ?0}")
-    List<Question> findQuestionsByTopic(String topicId);
+    @Query("{'topics._id': ?0}")
+    Flux<Question> findQuestionsByTopic(String topicId);
 
-    Question getQuestionById(String id);
+    Mono<Question> getQuestionById(String id);
 }
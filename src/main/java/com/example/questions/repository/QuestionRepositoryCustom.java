@@ -0,0 +1,48 @@
+package com.example.questions.repository;
+
+import com.example.questions.model.Question;
+import com.example.questions.model.Topic;
+import com.example.questions.model.TopicQuestionCount;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface QuestionRepositoryCustom {
+    /**
+     * Counts the questions of every given topic with a single aggregation. Topics without questions are omitted.
+     */
+    Flux<TopicQuestionCount> countQuestionsGroupedByTopic(Collection<String> topicIds);
+
+    /**
+     * Finds at most {@code limit} questions of the topic in id order, starting right after the question with id
+     * {@code after} (or at the beginning when it is {@code null}). Served by the {@code _id} index, so the cost of a
+     * page does not grow with its position.
+     */
+    Flux<Question> findQuestionsByTopicAfter(String topicId, String after, int limit);
+
+    /**
+     * Inserts the questions with one unordered bulk write, so a rejected document does not stop the others. Emits
+     * the write errors keyed by the position of the rejected questions, empty when all of them were inserted.
+     */
+    Mono<Map<Integer, String>> insertUnordered(List<Question> questions);
+
+    /**
+     * Deletes the question in one atomic round trip and emits it as it was, empty when it did not exist.
+     */
+    Mono<Question> findAndRemoveById(String id);
+
+    /**
+     * Overwrites the text, answer and topics of the question with a single {@code $set}, leaving the rest of the
+     * document untouched, and emits the question as it was before the update, empty when it did not exist.
+     */
+    Mono<Question> findAndUpdateContent(String id, String question, String answer, List<Topic> topics);
+
+    /**
+     * Picks up to {@code size} random questions of any of the topics with {@code $sample}, skipping the excluded
+     * ids, so only the picked questions leave the server.
+     */
+    Flux<Question> sampleQuestions(Collection<String> topicIds, Collection<String> excludedIds, int size);
+}
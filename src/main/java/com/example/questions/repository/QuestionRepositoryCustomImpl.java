@@ -0,0 +1,115 @@
+package com.example.questions.repository;
+
+import com.example.questions.model.Question;
+import com.example.questions.model.Topic;
+import com.example.questions.model.TopicQuestionCount;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class QuestionRepositoryCustomImpl implements QuestionRepositoryCustom {
+    private static final String NR_OF_QUESTIONS = "nrOfQuestions";
+    private static final String TOPIC_ID = "topics.id";
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<TopicQuestionCount> countQuestionsGroupedByTopic(Collection<String> topicIds) {
+        TypedAggregation<Question> aggregation = Aggregation.newAggregation(Question.class,
+                Aggregation.match(Criteria.where(TOPIC_ID).in(topicIds)),
+                Aggregation.unwind("topics"),
+                Aggregation.match(Criteria.where(TOPIC_ID).in(topicIds)),
+                Aggregation.group(TOPIC_ID).count().as(NR_OF_QUESTIONS)
+        );
+
+        return mongoTemplate.aggregate(aggregation, Document.class)
+                .map(result -> new TopicQuestionCount(
+                        result.get("_id").toString(),
+                        result.getInteger(NR_OF_QUESTIONS)
+                ));
+    }
+
+    @Override
+    public Flux<Question> findQuestionsByTopicAfter(String topicId, String after, int limit) {
+        Criteria criteria = Criteria.where(TOPIC_ID).is(topicId);
+        if (after != null) {
+            criteria = criteria.and("id").gt(after);
+        }
+
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Question.class);
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertUnordered(List<Question> questions) {
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Question.class)
+                .insert(questions)
+                .execute()
+                .thenReturn(Map.<Integer, String>of())
+                .onErrorResume(error -> writeErrors(error).isPresent(), error -> Mono.just(writeErrors(error).orElseThrow()));
+    }
+
+    @Override
+    public Mono<Question> findAndRemoveById(String id) {
+        return mongoTemplate.findAndRemove(Query.query(Criteria.where("id").is(id)), Question.class);
+    }
+
+    @Override
+    public Mono<Question> findAndUpdateContent(String id, String question, String answer, List<Topic> topics) {
+        Update update = new Update()
+                .set("question", question)
+                .set("answer", answer)
+                .set("topics", topics);
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(id)), update, Question.class);
+    }
+
+    @Override
+    public Flux<Question> sampleQuestions(Collection<String> topicIds, Collection<String> excludedIds, int size) {
+        Criteria criteria = Criteria.where(TOPIC_ID).in(topicIds);
+        if (!excludedIds.isEmpty()) {
+            criteria = criteria.and("id").nin(excludedIds);
+        }
+
+        TypedAggregation<Question> aggregation = Aggregation.newAggregation(Question.class,
+                Aggregation.match(criteria),
+                Aggregation.sample(size)
+        );
+        return mongoTemplate.aggregate(aggregation, Question.class);
+    }
+
+    private static Optional<Map<Integer, String>> writeErrors(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException bulkWriteException) {
+                return Optional.of(byIndex(bulkWriteException.getWriteErrors()));
+            }
+            if (cause instanceof BulkOperationException bulkOperationException) {
+                return Optional.of(byIndex(bulkOperationException.getErrors()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Map<Integer, String> byIndex(List<BulkWriteError> writeErrors) {
+        return writeErrors.stream().collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage, (first, second) -> first));
+    }
+}
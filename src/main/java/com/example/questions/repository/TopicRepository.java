@@ -1,13 +1,18 @@
 package com.example.questions.repository;
 
 import com.example.questions.model.Topic;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
+import reactor.core.publisher.Mono;
 
 @Repository
-public interface TopicRepository extends MongoRepository<Topic, String> {
-    boolean existsByNameIgnoreCase(String title);
-    Optional<Topic> findByName(String name);
-}
\ No newline at end of file
+public interface TopicRepository extends ReactiveMongoRepository<Topic, String>, TopicRepositoryCustom {
+    /**
+     * Runs with the collation of the {@code name_case_insensitive} index, which a regex based
+     * {@code IgnoreCase} derived query could not use.
+     */
+    @Query(value = "{name: ?0}", exists = true, collation = "{locale: 'en', strength: 2}")
+    Mono<Boolean> existsByNameIgnoreCase(String title);
+    Mono<Topic> findByName(String name);
+}
@@ -0,0 +1,24 @@
+package com.example.questions.repository;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface TopicRepositoryCustom {
+    /**
+     * Atomically adds {@code delta} to the stored question counter of every given topic.
+     */
+    Mono<Void> incrementNrOfQuestions(Collection<String> topicIds, int delta);
+
+    /**
+     * Atomically adds a different delta to the stored question counter of every topic, in one bulk write.
+     */
+    Mono<Void> incrementNrOfQuestions(Map<String, Integer> deltasByTopicId);
+
+    /**
+     * Overwrites the stored question counter of a topic if it still holds {@code expected}, used to repair drift
+     * without losing increments made since it was read. Emits whether the counter was overwritten.
+     */
+    Mono<Boolean> setNrOfQuestions(String topicId, Integer expected, int nrOfQuestions);
+}
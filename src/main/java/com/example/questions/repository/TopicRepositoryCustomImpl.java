@@ -0,0 +1,43 @@
+package com.example.questions.repository;
+
+import com.example.questions.model.Topic;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class TopicRepositoryCustomImpl implements TopicRepositoryCustom {
+    private static final String NR_OF_QUESTIONS = "nrOfQuestions";
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Void> incrementNrOfQuestions(Collection<String> topicIds, int delta) {
+        Query query = Query.query(Criteria.where("id").in(topicIds));
+        return mongoTemplate.updateMulti(query, new Update().inc(NR_OF_QUESTIONS, delta), Topic.class).then();
+    }
+
+    @Override
+    public Mono<Void> incrementNrOfQuestions(Map<String, Integer> deltasByTopicId) {
+        if (deltasByTopicId.isEmpty()) return Mono.empty();
+
+        ReactiveBulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Topic.class);
+        deltasByTopicId.forEach((topicId, delta) -> bulkOperations.updateOne(
+                Query.query(Criteria.where("id").is(topicId)), new Update().inc(NR_OF_QUESTIONS, delta)));
+        return bulkOperations.execute().then();
+    }
+
+    @Override
+    public Mono<Boolean> setNrOfQuestions(String topicId, Integer expected, int nrOfQuestions) {
+        Query query = Query.query(Criteria.where("id").is(topicId).and(NR_OF_QUESTIONS).is(expected));
+        return mongoTemplate.updateFirst(query, new Update().set(NR_OF_QUESTIONS, nrOfQuestions), Topic.class)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+}
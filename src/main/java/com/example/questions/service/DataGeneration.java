@@ -0,0 +1,23 @@
+package com.example.questions.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the question and topic data as seen by this node. Every write advances it once it is committed, so
+ * anything derived from the data at generation {@code n} is known to be current for as long as the generation
+ * stays {@code n}. Generations are local to one node and restart at zero, so they are never handed to clients.
+ */
+@Component
+public class DataGeneration {
+    private final AtomicLong generation = new AtomicLong();
+
+    public long current() {
+        return generation.get();
+    }
+
+    public long advance() {
+        return generation.incrementAndGet();
+    }
+}
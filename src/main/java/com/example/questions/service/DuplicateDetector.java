@@ -0,0 +1,404 @@
+package com.example.questions.service;
+
+import com.example.questions.exception.InvalidInputException;
+import com.example.questions.model.DuplicateGroup;
+import com.example.questions.repository.QuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds near-duplicate questions without comparing against every stored question. The normalized question text is
+ * cut into character shingles and summarized by a MinHash signature; signatures are split into bands and each band
+ * is hashed into a bucket, so only questions sharing a bucket are compared. With 8 bands of 8 rows, pairs above a
+ * Jaccard similarity of roughly 0.77 almost always share one, and candidates are then confirmed against
+ * {@code questions.duplicates.similarity-threshold}.
+ * <p>
+ * Near-duplicates are only logged unless {@code questions.duplicates.reject} is on: short questions that differ in
+ * one word, such as the same question asked for two languages, score above the threshold too.
+ * <p>
+ * The signatures are built from Mongo before the application reports ready, so duplicates are caught from the
+ * first request on, and rebuilt every {@code questions.duplicates.rebuild-interval}. The question services keep them
+ * up to date in between through {@link #checkAndPut}, which checks and records a question in one critical section.
+ */
+@Slf4j
+@Component
+public class DuplicateDetector {
+    private static final int SHINGLE_LENGTH = 5;
+    private static final int BANDS = 8;
+    private static final int ROWS = 8;
+    private static final int NR_OF_HASHES = BANDS * ROWS;
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(NR_OF_HASHES).toArray();
+    private static final String DUPLICATE = "A similar question already exists";
+    private final QuestionRepository questionRepository;
+    private final double similarityThreshold;
+    private final boolean rejectDuplicates;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Signatures signatures = new Signatures();
+    private Signatures rebuilding;
+    private final Set<String> writtenDuringRebuild = new HashSet<>();
+
+    public DuplicateDetector(QuestionRepository questionRepository,
+                             @Value("${questions.duplicates.similarity-threshold:0.8}") double similarityThreshold,
+                             @Value("${questions.duplicates.reject:false}") boolean rejectDuplicates) {
+        this.questionRepository = questionRepository;
+        this.similarityThreshold = similarityThreshold;
+        this.rejectDuplicates = rejectDuplicates;
+    }
+
+    /**
+     * Rejects, or only logs when {@code questions.duplicates.reject} is off, a question text too similar to a
+     * stored question other than {@code questionId}.
+     */
+    public void check(String questionText, String questionId) throws InvalidInputException {
+        verdict(findDuplicate(questionText, questionId), questionId);
+    }
+
+    /**
+     * Checks the question text like {@link #check} and, unless it is rejected, records it under {@code questionId}
+     * while still holding the lock, so two concurrent writes of near-duplicates cannot both pass. Callers cancel the
+     * returned reservation if writing the question fails.
+     */
+    public Reservation checkAndPut(String questionText, String questionId) throws InvalidInputException {
+        int[] signature = signature(questionText);
+        lock.writeLock().lock();
+        try {
+            verdict(duplicateOf(signature, questionId), questionId);
+            int[] previous = signatures.byQuestionId.get(questionId);
+            store(questionId, signature);
+            return new Reservation(questionId, previous, signature);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<String> findDuplicate(String questionText, String questionId) {
+        int[] signature = signature(questionText);
+        lock.readLock().lock();
+        try {
+            return duplicateOf(signature, questionId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(String questionId, String questionText) {
+        if (questionId == null) return;
+
+        int[] signature = signature(questionText);
+        lock.writeLock().lock();
+        try {
+            store(questionId, signature);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String questionId) {
+        lock.writeLock().lock();
+        try {
+            forget(questionId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void verdict(Optional<String> duplicate, String questionId) throws InvalidInputException {
+        if (duplicate.isEmpty()) return;
+
+        if (rejectDuplicates) throw new InvalidInputException(DUPLICATE);
+        log.info("Question {} looks like a duplicate of question {}", questionId, duplicate.get());
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private Optional<String> duplicateOf(int[] signature, String questionId) {
+        for (String candidate : signatures.candidates(signature)) {
+            if (!candidate.equals(questionId)
+                    && similarity(signature, signatures.byQuestionId.get(candidate)) >= similarityThreshold) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Must be called while holding the write lock.
+     */
+    private void store(String questionId, int[] signature) {
+        signatures.put(questionId, signature);
+        if (rebuilding != null) {
+            rebuilding.put(questionId, signature);
+            writtenDuringRebuild.add(questionId);
+        }
+    }
+
+    /**
+     * Must be called while holding the write lock.
+     */
+    private void forget(String questionId) {
+        signatures.remove(questionId);
+        if (rebuilding != null) {
+            rebuilding.remove(questionId);
+            writtenDuringRebuild.add(questionId);
+        }
+    }
+
+    /**
+     * Groups every stored question with its near-duplicates. Only questions sharing a bucket are compared.
+     */
+    public List<DuplicateGroup> findDuplicateGroups() {
+        Map<String, String> parents = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Map<Long, List<String>> band : signatures.buckets) {
+                for (List<String> bucket : band.values()) {
+                    for (int i = 0; i < bucket.size(); i++) {
+                        for (int j = i + 1; j < bucket.size(); j++) {
+                            String first = bucket.get(i);
+                            String second = bucket.get(j);
+                            if (similarity(signatures.byQuestionId.get(first), signatures.byQuestionId.get(second)) >= similarityThreshold) {
+                                String firstRoot = root(parents, first);
+                                String secondRoot = root(parents, second);
+                                if (!firstRoot.equals(secondRoot)) parents.put(firstRoot, secondRoot);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, TreeSet<String>> groups = new TreeMap<>();
+        for (String questionId : new ArrayList<>(parents.keySet())) {
+            groups.computeIfAbsent(root(parents, questionId), root -> new TreeSet<>()).add(questionId);
+        }
+        groups.forEach((root, members) -> members.add(root));
+        return groups.values().stream().map(members -> new DuplicateGroup(List.copyOf(members))).toList();
+    }
+
+    /**
+     * Rebuilds the signatures from Mongo and swaps them in, emitting the number of questions.
+     */
+    public Mono<Long> rebuild() {
+        return Mono.defer(() -> {
+            Signatures fresh = new Signatures();
+            lock.writeLock().lock();
+            try {
+                if (rebuilding != null) return Mono.empty();
+                rebuilding = fresh;
+                writtenDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            return questionRepository.findAll()
+                    .doOnNext(question -> {
+                        int[] signature = signature(question.getQuestion());
+                        lock.writeLock().lock();
+                        try {
+                            if (!writtenDuringRebuild.contains(question.getId())) fresh.put(question.getId(), signature);
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    })
+                    .then(Mono.fromCallable(() -> {
+                        lock.writeLock().lock();
+                        try {
+                            signatures = fresh;
+                            return (long) fresh.byQuestionId.size();
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    }))
+                    .doFinally(signal -> {
+                        lock.writeLock().lock();
+                        try {
+                            rebuilding = null;
+                            writtenDuringRebuild.clear();
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Builds the signatures while the application starts, before it reports ready to take traffic. If Mongo cannot
+     * be read, near-duplicates go undetected until the first scheduled rebuild.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void buildOnStartup() {
+        try {
+            log.info("Computed the signatures of {} question(s)", rebuild().block());
+        } catch (RuntimeException e) {
+            log.warn("Building the question signatures failed", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${questions.duplicates.rebuild-interval:PT30M}",
+            fixedDelayString = "${questions.duplicates.rebuild-interval:PT30M}")
+    public void rebuildOnSchedule() {
+        rebuild().subscribe(
+                count -> log.debug("Computed the signatures of {} question(s)", count),
+                error -> log.warn("Rebuilding the question signatures failed", error)
+        );
+    }
+
+    static int[] signature(String text) {
+        String normalized = normalize(text);
+        int[] signature = new int[NR_OF_HASHES];
+        long[] minimums = new long[NR_OF_HASHES];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+
+        int nrOfShingles = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < nrOfShingles; start++) {
+            long shingle = mix(normalized.substring(start, Math.min(normalized.length(), start + SHINGLE_LENGTH)).hashCode());
+            for (int i = 0; i < NR_OF_HASHES; i++) {
+                long hash = mix(shingle ^ SEEDS[i]);
+                if (Long.compareUnsigned(hash, minimums[i]) < 0) minimums[i] = hash;
+            }
+        }
+        for (int i = 0; i < NR_OF_HASHES; i++) signature[i] = (int) (minimums[i] >>> 32);
+        return signature;
+    }
+
+    static double similarity(int[] first, int[] second) {
+        int matches = 0;
+        for (int i = 0; i < NR_OF_HASHES; i++) {
+            if (first[i] == second[i]) matches++;
+        }
+        return (double) matches / NR_OF_HASHES;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (Character.isLetterOrDigit(character)) {
+                if (space && !normalized.isEmpty()) normalized.append(' ');
+                normalized.append(Character.toLowerCase(character));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static String root(Map<String, String> parents, String questionId) {
+        String root = questionId;
+        while (parents.containsKey(root)) root = parents.get(root);
+        return root;
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long value) {
+        long mixed = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    /**
+     * A question text recorded by {@link #checkAndPut} ahead of writing the question.
+     */
+    public final class Reservation {
+        private final String questionId;
+        private final int[] previous;
+        private final int[] signature;
+
+        private Reservation(String questionId, int[] previous, int[] signature) {
+            this.questionId = questionId;
+            this.previous = previous;
+            this.signature = signature;
+        }
+
+        /**
+         * Undoes the reservation after the write failed: the question gets back the signature it had before, or is
+         * forgotten if it had none. Does nothing if the question was recorded or removed again in the meantime.
+         */
+        public void cancel() {
+            lock.writeLock().lock();
+            try {
+                if (signatures.byQuestionId.get(questionId) != signature) return;
+
+                if (previous == null) {
+                    forget(questionId);
+                } else {
+                    store(questionId, previous);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static final class Signatures {
+        private final Map<String, int[]> byQuestionId = new HashMap<>();
+        private final List<Map<Long, List<String>>> buckets = new ArrayList<>(BANDS);
+
+        private Signatures() {
+            for (int band = 0; band < BANDS; band++) buckets.add(new HashMap<>());
+        }
+
+        private void put(String questionId, int[] signature) {
+            remove(questionId);
+            byQuestionId.put(questionId, signature);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.get(band).computeIfAbsent(bucket(signature, band), key -> new ArrayList<>(1)).add(questionId);
+            }
+        }
+
+        private void remove(String questionId) {
+            int[] signature = byQuestionId.remove(questionId);
+            if (signature == null) return;
+
+            for (int band = 0; band < BANDS; band++) {
+                long key = bucket(signature, band);
+                List<String> bucket = buckets.get(band).get(key);
+                bucket.remove(questionId);
+                if (bucket.isEmpty()) buckets.get(band).remove(key);
+            }
+        }
+
+        private Set<String> candidates(int[] signature) {
+            Set<String> candidates = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                List<String> bucket = buckets.get(band).get(bucket(signature, band));
+                if (bucket != null) candidates.addAll(bucket);
+            }
+            return candidates;
+        }
+
+        private static long bucket(int[] signature, int band) {
+            long key = band;
+            for (int row = band * ROWS; row < (band + 1) * ROWS; row++) key = mix(key * 31 + signature[row]);
+            return key;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.questions.service;
+
+import com.example.questions.model.ImportReport;
+import com.example.questions.model.Question;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface QuestionImportService {
+    Mono<ImportReport> importQuestions(Flux<Question> questions);
+}
@@ -0,0 +1,170 @@
+package com.example.questions.service;
+
+import com.example.questions.config.execution.ServiceExecutor;
+import com.example.questions.config.metrics.QuestionMetrics;
+import com.example.questions.exception.InvalidInputException;
+import com.example.questions.model.ImportReport;
+import com.example.questions.model.ImportResult;
+import com.example.questions.model.Question;
+import com.example.questions.model.Status;
+import com.example.questions.model.Topic;
+import com.example.questions.repository.QuestionRepository;
+import com.example.questions.repository.TopicRepository;
+import com.example.questions.validator.ValidationResult;
+import com.example.questions.validator.ValidationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports question banks without going through {@link QuestionService#createQuestion} once per question. Every
+ * question is validated against one snapshot of the topics taken at the start of the import, the valid ones are
+ * written with unordered bulk inserts of {@code questions.import.chunk-size} documents, and the topic counters are
+ * moved once per chunk. Each chunk is validated through {@link ServiceExecutor}, since the duplicate check can wait
+ * on the lock of the duplicate index. Invalid or rejected questions do not stop the import; each one gets its own
+ * result.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuestionImportServiceImpl implements QuestionImportService {
+    private static final String INVALID_TOPIC = "Invalid topic";
+    private final QuestionRepository questionRepository;
+    private final TopicRepository topicRepository;
+    private final ValidationService validationService;
+    private final QuestionMetrics questionMetrics;
+    private final QuestionSearchIndex questionSearchIndex;
+    private final DuplicateDetector duplicateDetector;
+    private final DataGeneration dataGeneration;
+    private final TopicQuestionsCache topicQuestionsCache;
+    private final ServiceExecutor serviceExecutor;
+    @Value("${questions.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    public Mono<ImportReport> importQuestions(Flux<Question> questions) {
+        return topicRepository.findAll()
+                .collectMap(Topic::getName, topic -> new Topic(topic.getId(), topic.getName(), null))
+                .flatMap(topicsByName -> questions.index()
+                        .buffer(chunkSize)
+                        .concatMap(chunk -> serviceExecutor.call(() -> prepare(chunk, topicsByName)).flatMap(this::write))
+                        .flatMapIterable(Function.identity())
+                        .collectList())
+                .map(results -> {
+                    int imported = (int) results.stream().filter(result -> Status.SUCCESS.equals(result.getStatus())).count();
+                    return new ImportReport(imported, results.size() - imported, results);
+                });
+    }
+
+    private List<PreparedQuestion> prepare(List<Tuple2<Long, Question>> chunk, Map<String, Topic> topicsByName) {
+        return chunk.stream().map(indexed -> prepare(indexed.getT1().intValue(), indexed.getT2(), topicsByName)).toList();
+    }
+
+    private PreparedQuestion prepare(int index, Question question, Map<String, Topic> topicsByName) {
+        List<Topic> topics = question.getTopics();
+        if (topics == null || topics.isEmpty()
+                || topics.stream().anyMatch(topic -> topic == null || !topicsByName.containsKey(topic.getName()))) {
+            questionMetrics.recordValidationRejection(InvalidInputException.class);
+            return PreparedQuestion.rejected(index, INVALID_TOPIC);
+        }
+
+        ValidationResult validation = validationService.validateQuestion(question.getQuestion(), question.getAnswer());
+        if (!validation.isValid()) {
+            questionMetrics.recordValidationRejection(validation.getRejection());
+            return PreparedQuestion.rejected(index, validation.getRejection().getMessage());
+        }
+
+        String id = new ObjectId().toHexString();
+        try {
+            duplicateDetector.checkAndPut(question.getQuestion(), id);
+        } catch (InvalidInputException e) {
+            questionMetrics.recordValidationRejection(e);
+            return PreparedQuestion.rejected(index, e.getMessage());
+        }
+
+        List<Topic> snapshots = topics.stream().map(topic -> topicsByName.get(topic.getName())).distinct().toList();
+        Question validQuestion = new Question(question.getQuestion(), question.getAnswer(), snapshots);
+        validQuestion.setId(id);
+        return new PreparedQuestion(index, validQuestion, null);
+    }
+
+    private Mono<List<ImportResult>> write(List<PreparedQuestion> chunk) {
+        List<Question> validQuestions = chunk.stream().map(PreparedQuestion::question).filter(Objects::nonNull).toList();
+        if (validQuestions.isEmpty()) return Mono.just(results(chunk, Map.of()));
+
+        return questionRepository.insertUnordered(validQuestions)
+                .doOnNext(writeErrors -> {
+                    for (int i = 0; i < validQuestions.size(); i++) {
+                        if (writeErrors.containsKey(i)) {
+                            duplicateDetector.remove(validQuestions.get(i).getId());
+                        } else {
+                            questionSearchIndex.put(validQuestions.get(i));
+                        }
+                    }
+                })
+                .flatMap(writeErrors -> topicRepository.incrementNrOfQuestions(insertedQuestionsByTopic(validQuestions, writeErrors))
+                        .thenReturn(results(chunk, writeErrors)))
+                .onErrorResume(error -> {
+                    log.warn("Importing a chunk of {} question(s) failed", validQuestions.size(), error);
+                    validQuestions.forEach(question -> duplicateDetector.remove(question.getId()));
+                    Map<Integer, String> writeErrors = new HashMap<>();
+                    for (int i = 0; i < validQuestions.size(); i++) writeErrors.put(i, "Failed to import the question");
+                    return Mono.just(results(chunk, writeErrors));
+                })
+                .doFinally(signal -> {
+                    dataGeneration.advance();
+                    topicQuestionsCache.invalidate(validQuestions.stream()
+                            .flatMap(question -> question.getTopics().stream())
+                            .map(Topic::getId)
+                            .collect(Collectors.toSet()));
+                });
+    }
+
+    /**
+     * Builds the results of a chunk in request order. {@code writeErrors} is keyed by position among the valid
+     * questions of the chunk, as reported by the bulk insert.
+     */
+    private List<ImportResult> results(List<PreparedQuestion> chunk, Map<Integer, String> writeErrors) {
+        List<ImportResult> results = new ArrayList<>(chunk.size());
+        int position = 0;
+        for (PreparedQuestion prepared : chunk) {
+            if (prepared.question() == null) {
+                results.add(new ImportResult(prepared.index(), Status.FAILED, null, prepared.rejection()));
+            } else {
+                String writeError = writeErrors.get(position++);
+                results.add(writeError == null
+                        ? new ImportResult(prepared.index(), Status.SUCCESS, prepared.question().getId(), null)
+                        : new ImportResult(prepared.index(), Status.FAILED, null, writeError));
+            }
+        }
+        return results;
+    }
+
+    private Map<String, Integer> insertedQuestionsByTopic(List<Question> questions, Map<Integer, String> writeErrors) {
+        Map<String, Integer> nrOfQuestionsByTopic = new HashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            if (writeErrors.containsKey(i)) continue;
+            questions.get(i).getTopics().forEach(topic -> nrOfQuestionsByTopic.merge(topic.getId(), 1, Integer::sum));
+        }
+        return nrOfQuestionsByTopic;
+    }
+
+    private record PreparedQuestion(int index, Question question, String rejection) {
+        static PreparedQuestion rejected(int index, String rejection) {
+            return new PreparedQuestion(index, null, rejection);
+        }
+    }
+}
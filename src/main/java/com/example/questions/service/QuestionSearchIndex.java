@@ -0,0 +1,220 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Question;
+import com.example.questions.model.SearchHit;
+import com.example.questions.model.Topic;
+import com.example.questions.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the question and answer text of every question, ranked with BM25. It is built from
+ * Mongo once the application starts and every {@code questions.search.rebuild-interval}, which also picks up writes
+ * made by other nodes, and kept up to date in between by the question services. Writes made while a rebuild is
+ * running are applied to both indexes and take precedence over what the rebuild reads.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionSearchIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private final QuestionRepository questionRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    private Index rebuilding;
+    private final Set<String> writtenDuringRebuild = new HashSet<>();
+
+    public void put(Question question) {
+        if (question.getId() == null) return;
+
+        Question copy = copyOf(question);
+        lock.writeLock().lock();
+        try {
+            index.put(copy);
+            if (rebuilding != null) {
+                rebuilding.put(copy);
+                writtenDuringRebuild.add(copy.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String questionId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(questionId);
+            if (rebuilding != null) {
+                rebuilding.remove(questionId);
+                writtenDuringRebuild.add(questionId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the questions containing any of the query terms, optionally only those of one topic, and returns the
+     * best {@code limit} of them.
+     */
+    public List<SearchHit> search(String query, String topicId, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.analyze(query));
+        if (terms.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            return index.search(terms, topicId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a new index from Mongo and swaps it in, emitting the number of indexed questions.
+     */
+    public Mono<Long> rebuild() {
+        return Mono.defer(() -> {
+            Index fresh = new Index();
+            lock.writeLock().lock();
+            try {
+                if (rebuilding != null) return Mono.empty();
+                rebuilding = fresh;
+                writtenDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            return questionRepository.findAll()
+                    .doOnNext(question -> {
+                        lock.writeLock().lock();
+                        try {
+                            if (!writtenDuringRebuild.contains(question.getId())) fresh.put(copyOf(question));
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    })
+                    .then(Mono.fromCallable(() -> {
+                        lock.writeLock().lock();
+                        try {
+                            index = fresh;
+                            return (long) fresh.documents.size();
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    }))
+                    .doFinally(signal -> {
+                        lock.writeLock().lock();
+                        try {
+                            rebuilding = null;
+                            writtenDuringRebuild.clear();
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    });
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${questions.search.rebuild-interval:PT30M}")
+    public void rebuildOnSchedule() {
+        rebuild().subscribe(
+                indexed -> log.debug("Indexed {} question(s) for search", indexed),
+                error -> log.warn("Rebuilding the search index failed", error)
+        );
+    }
+
+    private static Question copyOf(Question question) {
+        List<Topic> topics = question.getTopics() == null ? List.of() : question.getTopics().stream()
+                .filter(Objects::nonNull)
+                .map(topic -> new Topic(topic.getId(), topic.getName(), null))
+                .toList();
+        Question copy = new Question(question.getQuestion(), question.getAnswer(), topics);
+        copy.setId(question.getId());
+        return copy;
+    }
+
+    private static final class Index {
+        private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+        private final Map<String, IndexedQuestion> documents = new HashMap<>();
+        private long totalLength;
+
+        private void put(Question question) {
+            remove(question.getId());
+
+            List<String> terms = TextAnalyzer.analyze(question.getQuestion());
+            terms.addAll(TextAnalyzer.analyze(question.getAnswer()));
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            terms.forEach(term -> termFrequencies.merge(term, 1, Integer::sum));
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(question.getId(), frequency));
+
+            Set<String> topicIds = new HashSet<>();
+            question.getTopics().forEach(topic -> topicIds.add(topic.getId()));
+            documents.put(question.getId(), new IndexedQuestion(question, terms.size(), termFrequencies.keySet(), topicIds));
+            totalLength += terms.size();
+        }
+
+        private void remove(String questionId) {
+            IndexedQuestion removed = documents.remove(questionId);
+            if (removed == null) return;
+
+            for (String term : removed.terms()) {
+                Map<String, Integer> questionIds = postings.get(term);
+                questionIds.remove(questionId);
+                if (questionIds.isEmpty()) postings.remove(term);
+            }
+            totalLength -= removed.length();
+        }
+
+        private List<SearchHit> search(Set<String> terms, String topicId, int limit) {
+            if (documents.isEmpty()) return List.of();
+
+            int nrOfDocuments = documents.size();
+            double averageLength = (double) totalLength / nrOfDocuments;
+            Map<String, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<String, Integer> questionIds = postings.get(term);
+                if (questionIds == null) continue;
+
+                double idf = Math.log(1 + (nrOfDocuments - questionIds.size() + 0.5) / (questionIds.size() + 0.5));
+                questionIds.forEach((questionId, frequency) -> {
+                    IndexedQuestion document = documents.get(questionId);
+                    if (topicId != null && !document.topicIds().contains(topicId)) return;
+
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    scores.merge(questionId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+
+            PriorityQueue<Map.Entry<String, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<String, Double> score : scores.entrySet()) {
+                best.offer(score);
+                if (best.size() > limit) best.poll();
+            }
+
+            List<SearchHit> hits = new ArrayList<>(best.size());
+            best.forEach(score -> hits.add(new SearchHit(copyOf(documents.get(score.getKey()).question()), score.getValue())));
+            hits.sort(Comparator.comparingDouble(SearchHit::getScore).reversed());
+            return hits;
+        }
+    }
+
+    private record IndexedQuestion(Question question, int length, Set<String> terms, Set<String> topicIds) {
+    }
+}
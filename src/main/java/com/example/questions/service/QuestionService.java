@@ -1,23 +1,39 @@
 package com.example.questions.service;
 
+import com.example.questions.model.DuplicateGroup;
 import com.example.questions.model.Question;
+import com.example.questions.model.QuestionPage;
 import com.example.questions.model.ResponseData;
+import com.example.questions.model.SampleRequest;
+import com.example.questions.model.SearchHit;
 import com.example.questions.model.Topic;
-import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 public interface QuestionService {
-    Question createQuestion(Question question) throws Exception;
+    Mono<Question> createQuestion(Question question);
 
-    List<Question> getQuestionsByTopicId(String topicId) throws Exception;
+    Flux<Question> getQuestionsByTopicId(String topicId, boolean includeNrOfQuestions);
 
-    int countQuestionsByTopic(String topicId) throws Exception;
+    Mono<QuestionPage> getQuestionsPageByTopicId(String topicId, String after, int limit, boolean includeNrOfQuestions);
 
-    ResponseData deleteQuestion(String id);
+    Mono<List<SearchHit>> searchQuestions(String query, String topicId, int limit);
 
-    Optional<Question> getQuestionById(String id);
+    Mono<List<Question>> sampleQuestions(SampleRequest request);
 
-    Question updateQuestion(String id, String question, String answer, List<Topic> topics) throws Exception;
+    Mono<List<DuplicateGroup>> findDuplicateQuestions();
+
+    Mono<Integer> countQuestionsByTopic(String topicId);
+
+    Mono<Map<String, Integer>> countQuestionsByTopics(Collection<String> topicIds);
+
+    Mono<ResponseData> deleteQuestion(String id);
+
+    Mono<Question> getQuestionById(String id);
+
+    Mono<Question> updateQuestion(String id, String question, String answer, List<Topic> topics);
 }
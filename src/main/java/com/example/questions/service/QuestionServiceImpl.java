@@ -1,19 +1,42 @@
 package com.example.questions.service;
 
+import com.example.questions.config.execution.ServiceExecutor;
+import com.example.questions.config.metrics.QuestionMetrics;
 import com.example.questions.exception.BlankTextException;
 import com.example.questions.exception.InvalidInputException;
+import com.example.questions.exception.QuestionNotFoundException;
+import com.example.questions.model.DuplicateGroup;
 import com.example.questions.model.Question;
+import com.example.questions.model.QuestionPage;
 import com.example.questions.model.ResponseData;
+import com.example.questions.model.SampleRequest;
+import com.example.questions.model.SearchHit;
 import com.example.questions.model.Status;
 import com.example.questions.model.Topic;
+import com.example.questions.model.TopicQuestionCount;
 import com.example.questions.repository.QuestionRepository;
 import com.example.questions.repository.TopicRepository;
+import com.example.questions.validator.ValidationResult;
 import com.example.questions.validator.ValidationService;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,155 +44,318 @@ import java.util.stream.Collectors;
 public class QuestionServiceImpl implements QuestionService {
     private final QuestionRepository questionRepository;
     private final TopicRepository topicRepository;
+    private final TopicCatalog topicCatalog;
     private final ValidationService validationService;
+    private final QuestionMetrics questionMetrics;
+    private final QuestionSearchIndex questionSearchIndex;
+    private final DuplicateDetector duplicateDetector;
+    private final DataGeneration dataGeneration;
+    private final TopicQuestionsCache topicQuestionsCache;
+    private final ServiceExecutor serviceExecutor;
     private static final String INVALID_TOPIC = "Invalid topic";
+    private static final String QUESTION_NOT_FOUND = "Question could not be found";
+    static final int MAX_PAGE_SIZE = 100;
+    private static final int NR_OF_QUESTIONS_BATCH_SIZE = 64;
+    private static final String BY_TOPIC = "byTopic";
+    private static final String PAGE_BY_TOPIC = "pageByTopic";
+    private static final String SAMPLE = "sample";
 
     @Override
-    public Question createQuestion(Question question) throws Exception {
-        try {
-            validateInputFields(question.getQuestion(), question.getAnswer(), question.getTopics());
-
-            List<Topic> persistedTopics = question.getTopics().stream()
-                    .map(topic -> {
-                        try {
-                            return topicRepository.findByName(topic.getName())
-                                    .orElseThrow(() -> new InvalidInputException(INVALID_TOPIC));
-                        } catch (InvalidInputException e) {
-                            throw new RuntimeException(e);
-                        }
-                    })
-                    .collect(Collectors.toList());
-
-            Question questionObj = new Question(question.getQuestion(), question.getAnswer(), persistedTopics);
-
-            return questionRepository.insert(loadResultForNrOfQuestionsForEachTopic(questionObj));
-        } catch (BlankTextException | InvalidInputException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new Exception(e.getMessage());
-        }
+    public Mono<Question> createQuestion(Question question) {
+        return Mono.defer(() -> insertQuestion(new ObjectId().toHexString(), question))
+                .doOnNext(questionSearchIndex::put)
+                .flatMap(createdQuestion -> incrementNrOfQuestions(topicIds(createdQuestion.getTopics()), 1)
+                        .doOnSuccess(done -> dataChanged(topicIds(createdQuestion.getTopics())))
+                        .thenReturn(createdQuestion))
+                .doOnError(this::isRejection, questionMetrics::recordValidationRejection)
+                .onErrorMap(e -> !isRejection(e), e -> new Exception(e.getMessage()));
+    }
+
+    /**
+     * Validates and inserts the question under {@code id}, chosen up front so the duplicate check can record it.
+     */
+    private Mono<Question> insertQuestion(String id, Question question) {
+        return validateInputFields(id, question.getQuestion(), question.getAnswer(), question.getTopics())
+                .flatMap(input -> {
+                    Question newQuestion = new Question(question.getQuestion(), question.getAnswer(), input.topics());
+                    newQuestion.setId(id);
+                    return questionRepository.insert(newQuestion)
+                            .doOnError(e -> input.reservation().cancel());
+                });
     }
 
+    /**
+     * Emits the questions of a topic as they arrive from Mongo. When counts are requested, the embedded topics are
+     * swapped for the stored ones in small batches, so the memory held per request stays bounded regardless of the
+     * size of the topic.
+     */
     @Override
-    public List<Question> getQuestionsByTopicId(String topicId) throws Exception {
-        try {
-            isTopicValid(topicId);
-
-            return loadResultForNrOfQuestionsForEachTopic(questionRepository.findQuestionsByTopic(topicId));
-        } catch (InvalidInputException e) {
-            throw new InvalidInputException(e.getMessage());
-        } catch (Exception e) {
-            throw new Exception(e.getMessage());
+    public Flux<Question> getQuestionsByTopicId(String topicId, boolean includeNrOfQuestions) {
+        Flux<Question> questions = isTopicValid(topicId)
+                .thenMany(Flux.defer(() -> questionRepository.findQuestionsByTopic(topicId)));
+        if (includeNrOfQuestions) {
+            Flux<Question> storedQuestions = questions;
+            questions = Flux.defer(() -> {
+                TopicReferenceResolver topicReferenceResolver = new TopicReferenceResolver(topicRepository::findAllById);
+                return storedQuestions.buffer(NR_OF_QUESTIONS_BATCH_SIZE)
+                        .concatMap(topicReferenceResolver::resolve)
+                        .flatMapIterable(Function.identity())
+                        .doFinally(signal -> questionMetrics.recordTopicLookups(BY_TOPIC, topicReferenceResolver.getLookups()));
+            });
         }
+        return countPayload(questions)
+                .onErrorMap(e -> !(e instanceof InvalidInputException), e -> new Exception(e.getMessage()));
     }
 
+    /**
+     * Keyset pagination on {@code _id}: one extra question is fetched to tell whether another page exists, so the
+     * next cursor is only handed out when following it returns something.
+     */
     @Override
-    public int countQuestionsByTopic(String topicId) {
-        return questionRepository.getNrOfQuestionsByTopicId(topicId);
+    public Mono<QuestionPage> getQuestionsPageByTopicId(String topicId, String after, int limit, boolean includeNrOfQuestions) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidInputException("The limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        if (after != null && !ObjectId.isValid(after)) {
+            return Mono.error(new InvalidInputException("Invalid cursor"));
+        }
+
+        return isTopicValid(topicId)
+                .then(Mono.defer(() -> questionRepository.findQuestionsByTopicAfter(topicId, after, limit + 1).collectList()))
+                .flatMap(questions -> {
+                    boolean hasNextPage = questions.size() > limit;
+                    List<Question> page = hasNextPage ? questions.subList(0, limit) : questions;
+                    String nextCursor = hasNextPage ? page.get(page.size() - 1).getId() : null;
+                    questionMetrics.recordPayloadSize(PAGE_BY_TOPIC, page.size());
+                    if (!includeNrOfQuestions) return Mono.just(new QuestionPage(page, nextCursor));
+
+                    TopicReferenceResolver topicReferenceResolver = new TopicReferenceResolver(topicRepository::findAllById);
+                    return topicReferenceResolver.resolve(page)
+                            .map(resolved -> new QuestionPage(resolved, nextCursor))
+                            .doFinally(signal -> questionMetrics.recordTopicLookups(PAGE_BY_TOPIC, topicReferenceResolver.getLookups()));
+                })
+                .onErrorMap(e -> !(e instanceof InvalidInputException), e -> new Exception(e.getMessage()));
     }
 
     @Override
-    public ResponseData deleteQuestion(String id) {
-        if (questionRepository.findById(id).isPresent()) {
-            questionRepository.deleteById(id);
-            return new ResponseData(Status.SUCCESS, "Question was deleted");
+    public Mono<List<SearchHit>> searchQuestions(String query, String topicId, int limit) {
+        if (query == null || query.isBlank()) {
+            return Mono.error(new InvalidInputException("Please provide a search query"));
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidInputException("The limit must be between 1 and " + MAX_PAGE_SIZE));
         }
-        return new ResponseData(Status.FAILED, "Question could not be found");
+
+        Mono<Void> topicCheck = topicId == null ? Mono.empty() : isTopicValid(topicId);
+        return topicCheck.then(serviceExecutor.call(() -> questionSearchIndex.search(query, topicId, limit)));
     }
 
+    /**
+     * Splits {@code size} between the topics by weight, samples every topic for its share with {@code $sample} and
+     * tops the result up from all weighted topics when a topic ran short or questions were picked twice through
+     * topics they share. The questions are returned in random order.
+     */
     @Override
-    public Question updateQuestion(String id, String questionText, String answer, List<Topic> topics) throws Exception {
-        try {
-            validateInputFields(questionText, answer, topics);
-
-            Question initialQuestion = getInitialQuestion(id);
-            List<Topic> persistedTopics = topics.stream()
-                    .map(topic -> {
-                        try {
-                            return topicRepository.findByName(topic.getName())
-                                    .orElseThrow(() -> new InvalidInputException(INVALID_TOPIC));
-                        } catch (InvalidInputException e) {
-                            throw new RuntimeException(e);
-                        }
-                    })
-                    .collect(Collectors.toList());
-
-            initialQuestion.setQuestion(questionText);
-            initialQuestion.setAnswer(answer);
-            initialQuestion.setTopics(persistedTopics);
-
-            return questionRepository.save(loadResultForNrOfQuestionsForEachTopic(initialQuestion));
-        } catch (InvalidInputException e) {
-            throw new InvalidInputException(e.getMessage());
+    public Mono<List<Question>> sampleQuestions(SampleRequest request) {
+        List<String> topicIds = request.getTopicIds() == null ? List.of() : request.getTopicIds().stream().distinct().toList();
+        Map<String, Double> weights = request.getWeights() == null ? Map.of() : request.getWeights();
+        int size = request.getSize();
+        if (topicIds.isEmpty() || topicIds.stream().anyMatch(Objects::isNull)) {
+            return Mono.error(new InvalidInputException(INVALID_TOPIC));
         }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidInputException("The size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        if (weights.values().stream().anyMatch(weight -> weight == null || weight < 0)
+                || topicIds.stream().noneMatch(topicId -> weights.getOrDefault(topicId, 1.0) > 0)) {
+            return Mono.error(new InvalidInputException("The weights must not be negative and at least one must be positive"));
+        }
+
+        Set<String> excludedIds = request.getExcludeIds() == null ? Set.of()
+                : request.getExcludeIds().stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<String, Integer> shares = shares(topicIds, weights, size);
+        List<String> weightedTopicIds = topicIds.stream().filter(topicId -> weights.getOrDefault(topicId, 1.0) > 0).toList();
+
+        return Flux.fromIterable(topicIds)
+                .concatMap(this::isTopicValid)
+                .thenMany(Flux.fromIterable(shares.entrySet()))
+                .concatMap(share -> questionRepository.sampleQuestions(List.of(share.getKey()), excludedIds, share.getValue()))
+                .collect(LinkedHashMap<String, Question>::new, (picked, question) -> picked.putIfAbsent(question.getId(), question))
+                .flatMap(picked -> {
+                    if (picked.size() >= size) return Mono.just(picked);
+
+                    Set<String> skippedIds = new HashSet<>(excludedIds);
+                    skippedIds.addAll(picked.keySet());
+                    return questionRepository.sampleQuestions(weightedTopicIds, skippedIds, size - picked.size())
+                            .doOnNext(question -> picked.putIfAbsent(question.getId(), question))
+                            .then(Mono.just(picked));
+                })
+                .map(picked -> {
+                    List<Question> questions = new ArrayList<>(picked.values());
+                    Collections.shuffle(questions);
+                    questionMetrics.recordPayloadSize(SAMPLE, questions.size());
+                    return questions;
+                })
+                .onErrorMap(e -> !(e instanceof InvalidInputException), e -> new Exception(e.getMessage()));
     }
 
+    @Override
+    public Mono<List<DuplicateGroup>> findDuplicateQuestions() {
+        return serviceExecutor.call(duplicateDetector::findDuplicateGroups);
+    }
 
     @Override
-    public Optional<Question> getQuestionById(String id) {
-        return questionRepository.findById(id);
+    public Mono<Integer> countQuestionsByTopic(String topicId) {
+        return questionRepository.getNrOfQuestionsByTopicId(topicId).map(Long::intValue);
     }
 
-    private Question getInitialQuestion(String id) throws Exception {
-        if (questionRepository.findById(id).isPresent()) {
-            return questionRepository.getQuestionById(id);
-        } else {
-            throw new InvalidInputException("Question could not be found");
-        }
+    @Override
+    public Mono<Map<String, Integer>> countQuestionsByTopics(Collection<String> topicIds) {
+        if (topicIds.isEmpty()) return Mono.just(Map.of());
+
+        return questionRepository.countQuestionsGroupedByTopic(topicIds)
+                .collectMap(TopicQuestionCount::getTopicId, TopicQuestionCount::getNrOfQuestions);
     }
 
-    private void validateInputFields(String question, String answer, List<Topic> topics) throws Exception {
-        try {
-            isTopicValid(topics);
-            validationService.isValidText(answer);
-            validationService.isValidText(question);
-        } catch (BlankTextException e) {
-            throw new BlankTextException(e.getMessage());
-        } catch (InvalidInputException e) {
-            throw new InvalidInputException(e.getMessage());
-        }
+    @Override
+    public Mono<ResponseData> deleteQuestion(String id) {
+        return questionRepository.findAndRemoveById(id)
+                .doOnNext(question -> {
+                    questionSearchIndex.remove(question.getId());
+                    duplicateDetector.remove(question.getId());
+                })
+                .flatMap(question -> incrementNrOfQuestions(topicIds(question.getTopics()), -1)
+                        .doOnSuccess(done -> dataChanged(topicIds(question.getTopics())))
+                        .thenReturn(new ResponseData(Status.SUCCESS, "Question was deleted")))
+                .switchIfEmpty(Mono.error(() -> new QuestionNotFoundException(QUESTION_NOT_FOUND)));
     }
 
-    private List<Question> loadResultForNrOfQuestionsForEachTopic(List<Question> questions) {
-        for (Question question : questions) {
-            for (Topic topic : question.getTopics()) {
-                topic.setNrOfQuestions(countQuestionsByTopic(topic.getId()));
-            }
-        }
-        return questions;
+    @Override
+    public Mono<Question> updateQuestion(String id, String questionText, String answer, List<Topic> topics) {
+        return validateInputFields(id, questionText, answer, topics)
+                .flatMap(input -> questionRepository.findAndUpdateContent(id, questionText, answer, input.topics())
+                        .switchIfEmpty(Mono.defer(() -> {
+                            duplicateDetector.remove(id);
+                            return Mono.error(new QuestionNotFoundException(QUESTION_NOT_FOUND));
+                        }))
+                        .doOnError(e -> input.reservation().cancel())
+                        .flatMap(previousQuestion -> {
+                            Question updatedQuestion = new Question(questionText, answer, input.topics());
+                            updatedQuestion.setId(previousQuestion.getId());
+                            questionSearchIndex.put(updatedQuestion);
+                            Set<String> touchedTopicIds = new HashSet<>(topicIds(previousQuestion.getTopics()));
+                            touchedTopicIds.addAll(topicIds(input.topics()));
+                            return updateNrOfQuestions(topicIds(previousQuestion.getTopics()), topicIds(input.topics()))
+                                    .doOnSuccess(done -> dataChanged(touchedTopicIds))
+                                    .thenReturn(updatedQuestion);
+                        }))
+                .doOnError(this::isRejection, questionMetrics::recordValidationRejection);
     }
 
-    private Question loadResultForNrOfQuestionsForEachTopic(Question question) {
-        for (Topic topic : question.getTopics()) {
-            topic.setNrOfQuestions(countQuestionsByTopic(topic.getId()));
-        }
-        return question;
+    @Override
+    public Mono<Question> getQuestionById(String id) {
+        return questionRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new QuestionNotFoundException(QUESTION_NOT_FOUND)));
     }
 
-    private void isTopicValid(List<Topic> topics) throws InvalidInputException {
-        List<Topic> topicsDB = topicRepository.findAll();
+    /**
+     * Validates the input, rejecting near-duplicates of questions other than {@code id}, and emits the persisted
+     * topics matching the requested topic names. An accepted question text is recorded under {@code id} in the
+     * {@link DuplicateDetector} right away, so a concurrent near-duplicate is rejected before either is written; the
+     * caller cancels the reservation if the write fails.
+     */
+    private Mono<ValidatedInput> validateInputFields(String id, String question, String answer, List<Topic> topics) {
+        return findPersistedTopics(topics)
+                .flatMap(persistedTopics -> {
+                    ValidationResult validation = validationService.validateQuestion(question, answer);
+                    if (!validation.isValid()) return Mono.error(validation.getRejection());
 
-        if (topics.isEmpty()) throw new InvalidInputException(INVALID_TOPIC);
+                    return serviceExecutor.call(() -> new ValidatedInput(persistedTopics, duplicateDetector.checkAndPut(question, id)));
+                });
+    }
 
-        for (Topic topic : topics) {
-            if (topic != null) {
-                boolean topicExists = topicsDB.stream()
-                        .anyMatch(dbTopic -> dbTopic.getName().equals(topic.getName()));
-                if (!topicExists) {
-                    throw new InvalidInputException(INVALID_TOPIC);
-                }
-            } else {
-                throw new InvalidInputException(INVALID_TOPIC);
-            }
+    private Mono<List<Topic>> findPersistedTopics(List<Topic> topics) {
+        if (topics == null || topics.isEmpty() || topics.stream().anyMatch(Objects::isNull)) {
+            return Mono.error(new InvalidInputException(INVALID_TOPIC));
         }
+
+        return Flux.fromIterable(topics)
+                .concatMap(topic -> topicCatalog.findByName(topic.getName())
+                        .switchIfEmpty(Mono.error(new InvalidInputException(INVALID_TOPIC))))
+                .map(topic -> new Topic(topic.getId(), topic.getName(), null))
+                .collectList();
+    }
+
+    private Mono<Void> updateNrOfQuestions(Set<String> previousTopicIds, Set<String> currentTopicIds) {
+        Set<String> removedTopicIds = new HashSet<>(previousTopicIds);
+        removedTopicIds.removeAll(currentTopicIds);
+        Set<String> addedTopicIds = new HashSet<>(currentTopicIds);
+        addedTopicIds.removeAll(previousTopicIds);
+
+        return incrementNrOfQuestions(addedTopicIds, 1).then(incrementNrOfQuestions(removedTopicIds, -1));
     }
 
-    private void isTopicValid(String topicId) throws InvalidInputException {
-        if (topicId == null) throw new InvalidInputException(INVALID_TOPIC);
-        Optional<Topic> topicDB = topicRepository.findById(topicId);
+    private Mono<Void> incrementNrOfQuestions(Set<String> topicIds, int delta) {
+        if (topicIds.isEmpty()) return Mono.empty();
+
+        return topicRepository.incrementNrOfQuestions(topicIds, delta);
+    }
+
+    private void dataChanged(Set<String> topicIds) {
+        dataGeneration.advance();
+        topicQuestionsCache.invalidate(topicIds);
+    }
+
+    private Set<String> topicIds(List<Topic> topics) {
+        return topics.stream().map(Topic::getId).collect(Collectors.toSet());
+    }
 
-        if (topicDB.isEmpty()) {
-            throw new InvalidInputException(INVALID_TOPIC);
+    /**
+     * Splits {@code size} proportionally to the weights with the largest remainder method. Topics with a share of
+     * zero are left out.
+     */
+    static Map<String, Integer> shares(List<String> topicIds, Map<String, Double> weights, int size) {
+        double totalWeight = topicIds.stream().mapToDouble(topicId -> weights.getOrDefault(topicId, 1.0)).sum();
+        Map<String, Integer> shares = new LinkedHashMap<>();
+        Map<String, Double> remainders = new HashMap<>();
+        int allocated = 0;
+        for (String topicId : topicIds) {
+            double exactShare = size * weights.getOrDefault(topicId, 1.0) / totalWeight;
+            int share = (int) exactShare;
+            shares.put(topicId, share);
+            remainders.put(topicId, exactShare - share);
+            allocated += share;
         }
+
+        List<String> byRemainder = new ArrayList<>(topicIds);
+        byRemainder.sort(Comparator.comparingDouble((String topicId) -> remainders.get(topicId)).reversed());
+        for (int i = 0; i < size - allocated; i++) {
+            shares.merge(byRemainder.get(i), 1, Integer::sum);
+        }
+        shares.values().removeIf(share -> share == 0);
+        return shares;
+    }
+
+    private Flux<Question> countPayload(Flux<Question> questions) {
+        return Flux.defer(() -> {
+            AtomicLong nrOfQuestions = new AtomicLong();
+            return questions.doOnNext(question -> nrOfQuestions.incrementAndGet())
+                    .doFinally(signal -> questionMetrics.recordPayloadSize(BY_TOPIC, nrOfQuestions.get()));
+        });
+    }
+
+    private boolean isRejection(Throwable e) {
+        return e instanceof BlankTextException || e instanceof InvalidInputException;
+    }
+
+    private Mono<Void> isTopicValid(String topicId) {
+        if (topicId == null) return Mono.error(new InvalidInputException(INVALID_TOPIC));
+
+        return topicCatalog.findById(topicId)
+                .switchIfEmpty(Mono.error(new InvalidInputException(INVALID_TOPIC)))
+                .then();
+    }
+
+    private record ValidatedInput(List<Topic> topics, DuplicateDetector.Reservation reservation) {
     }
 }
@@ -0,0 +1,54 @@
+package com.example.questions.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for reads: concurrent calls with the same key share the load started by the first one, so a burst
+ * of identical cache misses costs one query instead of one per request. The shared load runs to completion even if
+ * the caller that started it goes away. Callers joining a load wait at most {@code maxWait} for it and then run
+ * their own, so a stuck load cannot hold up more than the request that started it.
+ */
+public class RequestCoalescer<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration maxWait;
+
+    public RequestCoalescer(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public Mono<V> coalesce(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> load = new CompletableFuture<>();
+            CompletableFuture<V> current = inFlight.putIfAbsent(key, load);
+            if (current != null) {
+                return Mono.fromFuture(current, true).timeout(maxWait, Mono.defer(loader));
+            }
+
+            Mono.defer(loader).subscribe(
+                    value -> {
+                        inFlight.remove(key, load);
+                        load.complete(value);
+                    },
+                    error -> {
+                        inFlight.remove(key, load);
+                        load.completeExceptionally(error);
+                    },
+                    () -> {
+                        inFlight.remove(key, load);
+                        load.complete(null);
+                    }
+            );
+            return Mono.fromFuture(load, true);
+        });
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.questions.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns question and answer text into index terms: lower-cased runs of letters and digits, without English stop
+ * words, reduced by the first and last steps of the Porter stemmer (plurals, {@code -ed} and {@code -ing},
+ * trailing {@code y} and {@code e}). The same analysis is applied to documents and queries, so "indexes" finds "index" and "indexing".
+ */
+final class TextAnalyzer {
+    private static final int MIN_STEMMED_LENGTH = 3;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "can", "do", "does", "for", "from", "has", "have",
+            "how", "i", "if", "in", "into", "is", "it", "its", "of", "on", "or", "such", "that", "the", "their",
+            "then", "there", "these", "they", "this", "to", "was", "what", "when", "where", "which", "who", "why",
+            "will", "with", "you", "your"
+    );
+
+    private TextAnalyzer() {
+    }
+
+    static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) return terms;
+
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordCharacter = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordCharacter && start < 0) {
+                start = i;
+            } else if (!wordCharacter && start >= 0) {
+                String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(word)) terms.add(stem(word));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    static String stem(String word) {
+        if (word.length() < MIN_STEMMED_LENGTH) return word;
+
+        String stem = word;
+        if (stem.endsWith("sses")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.endsWith("ies")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+
+        if (stem.endsWith("eed")) {
+            if (measure(stem.substring(0, stem.length() - 3)) > 0) stem = stem.substring(0, stem.length() - 1);
+        } else if (stem.endsWith("ed") && hasVowel(stem.substring(0, stem.length() - 2))) {
+            stem = restore(stem.substring(0, stem.length() - 2));
+        } else if (stem.endsWith("ing") && hasVowel(stem.substring(0, stem.length() - 3))) {
+            stem = restore(stem.substring(0, stem.length() - 3));
+        }
+
+        if (stem.endsWith("y") && hasVowel(stem.substring(0, stem.length() - 1))) {
+            stem = stem.substring(0, stem.length() - 1) + "i";
+        }
+
+        if (stem.endsWith("e")) {
+            String base = stem.substring(0, stem.length() - 1);
+            int measure = measure(base);
+            if (measure > 1 || measure == 1 && !endsWithConsonantVowelConsonant(base)) stem = base;
+        }
+        return stem;
+    }
+
+    /**
+     * Fixes up a stem once {@code -ed} or {@code -ing} is removed: "conflat" becomes "conflate", "hopp" becomes
+     * "hop" and "fil" becomes "file".
+     */
+    private static String restore(String stem) {
+        if (stem.endsWith("at") || stem.endsWith("bl") || stem.endsWith("iz")) return stem + "e";
+
+        int length = stem.length();
+        if (length >= 2 && stem.charAt(length - 1) == stem.charAt(length - 2) && isConsonant(stem, length - 1)
+                && "lsz".indexOf(stem.charAt(length - 1)) < 0) {
+            return stem.substring(0, length - 1);
+        }
+        if (measure(stem) == 1 && endsWithConsonantVowelConsonant(stem)) return stem + "e";
+        return stem;
+    }
+
+    private static boolean hasVowel(String stem) {
+        for (int i = 0; i < stem.length(); i++) {
+            if (!isConsonant(stem, i)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Number of vowel-consonant sequences in the stem, the {@code m} of the Porter stemmer.
+     */
+    private static int measure(String stem) {
+        int measure = 0;
+        boolean previousVowel = false;
+        for (int i = 0; i < stem.length(); i++) {
+            boolean vowel = !isConsonant(stem, i);
+            if (previousVowel && !vowel) measure++;
+            previousVowel = vowel;
+        }
+        return measure;
+    }
+
+    private static boolean endsWithConsonantVowelConsonant(String stem) {
+        int length = stem.length();
+        if (length < 3) return false;
+
+        char last = stem.charAt(length - 1);
+        return isConsonant(stem, length - 3) && !isConsonant(stem, length - 2) && isConsonant(stem, length - 1)
+                && last != 'w' && last != 'x' && last != 'y';
+    }
+
+    private static boolean isConsonant(String word, int index) {
+        char character = word.charAt(index);
+        return switch (character) {
+            case 'a', 'e', 'i', 'o', 'u' -> false;
+            case 'y' -> index == 0 || !isConsonant(word, index - 1);
+            default -> Character.isLetter(character);
+        };
+    }
+}
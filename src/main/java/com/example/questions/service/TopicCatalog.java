@@ -0,0 +1,177 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Topic;
+import com.example.questions.repository.TopicRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory view of the topics collection. Lookups are served from an immutable snapshot indexed by id, by name
+ * and by lower-cased name; writes replace the snapshot copy-on-write. Topics missing from the snapshot (e.g.
+ * created on another node) are looked up in Mongo and added to it. Names Mongo does not know either are remembered
+ * for a minute, or until such a topic is put or the snapshot reloaded, so repeated invalid names stay off Mongo.
+ * The snapshot never carries question counts, which change far more often than topics do.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TopicCatalog {
+    private static final int MISSING_NAMES_MAXIMUM_SIZE = 10_000;
+    private static final Duration MISSING_NAMES_EXPIRE_AFTER_WRITE = Duration.ofMinutes(1);
+    private final TopicRepository topicRepository;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final Cache<String, Boolean> missingNames = Caffeine.newBuilder()
+            .maximumSize(MISSING_NAMES_MAXIMUM_SIZE)
+            .expireAfterWrite(MISSING_NAMES_EXPIRE_AFTER_WRITE)
+            .build();
+
+    public Mono<Topic> findById(String id) {
+        if (id == null) return Mono.empty();
+
+        return snapshot().flatMap(current -> {
+            Topic topic = current.topicsById.get(id);
+            return topic != null ? Mono.just(copyOf(topic)) : topicRepository.findById(id).map(this::remember);
+        });
+    }
+
+    public Mono<Topic> findByName(String name) {
+        if (name == null) return Mono.empty();
+
+        return snapshot().flatMap(current -> {
+            Topic topic = current.topicsByName.get(name);
+            if (topic != null) return Mono.just(copyOf(topic));
+            if (missingNames.getIfPresent(name) != null) return Mono.empty();
+
+            return topicRepository.findByName(name)
+                    .map(this::remember)
+                    .switchIfEmpty(Mono.fromRunnable(() -> missingNames.put(name, Boolean.TRUE)));
+        });
+    }
+
+    public Mono<Boolean> existsByNameIgnoreCase(String name) {
+        if (name == null) return Mono.just(false);
+
+        return snapshot().map(current -> current.topicsByLowerCaseName.containsKey(lowerCase(name)));
+    }
+
+    public Flux<Topic> findAllById(Collection<String> ids) {
+        return snapshot().flatMapMany(current -> {
+            List<Topic> found = new ArrayList<>(ids.size());
+            List<String> missing = new ArrayList<>();
+            for (String id : ids) {
+                Topic topic = current.topicsById.get(id);
+                if (topic != null) {
+                    found.add(copyOf(topic));
+                } else {
+                    missing.add(id);
+                }
+            }
+
+            Flux<Topic> fallback = missing.isEmpty()
+                    ? Flux.empty()
+                    : topicRepository.findAllById(missing).map(this::remember);
+            return Flux.fromIterable(found).concatWith(fallback);
+        });
+    }
+
+    public void put(Topic topic) {
+        if (topic.getName() != null) missingNames.invalidate(topic.getName());
+        snapshot.getAndUpdate(current -> current == null ? null : current.with(topic));
+    }
+
+    public Mono<Void> refresh() {
+        return load().then();
+    }
+
+    @Scheduled(fixedDelayString = "${questions.topic-catalog.refresh-interval:PT5M}")
+    public void refreshOnSchedule() {
+        refresh().subscribe(null, error -> log.warn("Topic catalog refresh failed", error));
+    }
+
+    private Mono<Snapshot> snapshot() {
+        Snapshot current = snapshot.get();
+        return current != null ? Mono.just(current) : load();
+    }
+
+    private Mono<Snapshot> load() {
+        return topicRepository.findAll()
+                .collectList()
+                .map(Snapshot::of)
+                .doOnNext(loaded -> {
+                    snapshot.set(loaded);
+                    missingNames.invalidateAll();
+                });
+    }
+
+    private Topic remember(Topic topic) {
+        put(topic);
+        return copyOf(topic);
+    }
+
+    private static Topic copyOf(Topic topic) {
+        return new Topic(topic.getId(), topic.getName(), null);
+    }
+
+    private static String lowerCase(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Topic> topicsById;
+        private final Map<String, Topic> topicsByName;
+        private final Map<String, Topic> topicsByLowerCaseName;
+
+        private Snapshot(Map<String, Topic> topicsById, Map<String, Topic> topicsByName, Map<String, Topic> topicsByLowerCaseName) {
+            this.topicsById = topicsById;
+            this.topicsByName = topicsByName;
+            this.topicsByLowerCaseName = topicsByLowerCaseName;
+        }
+
+        private static Snapshot of(Collection<Topic> topics) {
+            Map<String, Topic> topicsById = new HashMap<>();
+            Map<String, Topic> topicsByName = new HashMap<>();
+            Map<String, Topic> topicsByLowerCaseName = new HashMap<>();
+            for (Topic topic : topics) {
+                index(copyOf(topic), topicsById, topicsByName, topicsByLowerCaseName);
+            }
+            return new Snapshot(Map.copyOf(topicsById), Map.copyOf(topicsByName), Map.copyOf(topicsByLowerCaseName));
+        }
+
+        private Snapshot with(Topic topic) {
+            Map<String, Topic> topicsById = new HashMap<>(this.topicsById);
+            Map<String, Topic> topicsByName = new HashMap<>(this.topicsByName);
+            Map<String, Topic> topicsByLowerCaseName = new HashMap<>(this.topicsByLowerCaseName);
+            Topic previous = topic.getId() == null ? null : topicsById.get(topic.getId());
+            if (previous != null) {
+                topicsByName.remove(previous.getName(), previous);
+                topicsByLowerCaseName.remove(lowerCase(previous.getName()), previous);
+            }
+            index(copyOf(topic), topicsById, topicsByName, topicsByLowerCaseName);
+            return new Snapshot(Map.copyOf(topicsById), Map.copyOf(topicsByName), Map.copyOf(topicsByLowerCaseName));
+        }
+
+        private static void index(Topic topic, Map<String, Topic> topicsById, Map<String, Topic> topicsByName,
+                                  Map<String, Topic> topicsByLowerCaseName) {
+            if (topic.getId() == null || topic.getName() == null) return;
+
+            topicsById.put(topic.getId(), topic);
+            topicsByName.put(topic.getName(), topic);
+            topicsByLowerCaseName.put(lowerCase(topic.getName()), topic);
+        }
+    }
+}
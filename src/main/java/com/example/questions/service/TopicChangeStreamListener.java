@@ -0,0 +1,61 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Topic;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Keeps the {@link TopicCatalog} of every node in sync by listening to topic inserts, replacements and deletions
+ * on a change stream. Requires a replica set, so it is opt-in.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "questions.topic-catalog.change-stream.enabled", havingValue = "true")
+public class TopicChangeStreamListener {
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final TopicCatalog topicCatalog;
+    private final DataGeneration dataGeneration;
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void listen() {
+        subscription = mongoTemplate.changeStream(Topic.class)
+                .watchCollection(Topic.class)
+                .filter(Criteria.where("operationType").in("insert", "replace", "delete"))
+                .listen()
+                .concatMap(this::apply)
+                .doOnError(error -> log.warn("Topic change stream failed, reconnecting", error))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Mono<Void> apply(ChangeStreamEvent<Topic> event) {
+        Topic topic = event.getBody();
+        dataGeneration.advance();
+        if (topic == null) {
+            return topicCatalog.refresh();
+        }
+        return Mono.fromRunnable(() -> topicCatalog.put(topic));
+    }
+}
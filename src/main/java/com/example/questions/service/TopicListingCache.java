@@ -0,0 +1,96 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Topic;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The topic listing, serialized once per {@link DataGeneration}. A hit serves the cached bytes without touching
+ * Mongo or Jackson. Counters moved by other nodes do not advance the local generation, so listings older than
+ * {@code questions.topics.listing-cache.max-age} are reloaded; when the reload finds different data, the generation
+ * is advanced instead of caching it, since the loaded data may predate a local write racing with the reload.
+ * Concurrent misses at the same generation share one load. The ETag is a hash of the serialized listing, so every
+ * node and every restart tags the same topics alike.
+ */
+@Component
+public class TopicListingCache {
+    private final TopicService topicService;
+    private final DataGeneration dataGeneration;
+    private final ObjectMapper objectMapper;
+    private final long maxAgeNanos;
+    private final AtomicReference<TopicListing> listing = new AtomicReference<>();
+    private final RequestCoalescer<Long, TopicListing> loads;
+
+    public TopicListingCache(TopicService topicService, DataGeneration dataGeneration, ObjectMapper objectMapper,
+                             @Value("${questions.topics.listing-cache.max-age:PT10S}") Duration maxAge,
+                             @Value("${questions.coalescing.max-wait:PT1S}") Duration maxWait) {
+        this.topicService = topicService;
+        this.dataGeneration = dataGeneration;
+        this.objectMapper = objectMapper;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.loads = new RequestCoalescer<>(maxWait);
+    }
+
+    /**
+     * Emits the current listing.
+     */
+    public Mono<TopicListing> get() {
+        return Mono.defer(() -> {
+            long generation = dataGeneration.current();
+            TopicListing cached = listing.get();
+            if (cached != null && cached.generation() == generation && System.nanoTime() - cached.loadedAt() < maxAgeNanos) {
+                return Mono.just(cached);
+            }
+
+            return loads.coalesce(generation, () -> topicService.findAll()
+                    .collectList()
+                    .map(topics -> load(generation, cached, serialize(topics))));
+        });
+    }
+
+    private TopicListing load(long generation, TopicListing cached, byte[] body) {
+        if (cached != null && cached.generation() == generation && !Arrays.equals(cached.body(), body)) {
+            dataGeneration.advance();
+            return new TopicListing(generation, eTag(body), body, System.nanoTime());
+        }
+
+        TopicListing loaded = new TopicListing(generation, eTag(body), body, System.nanoTime());
+        listing.accumulateAndGet(loaded, (current, candidate) ->
+                current != null && current.generation() > candidate.generation() ? current : candidate);
+        return loaded;
+    }
+
+    private byte[] serialize(List<Topic> topics) {
+        try {
+            return objectMapper.writeValueAsBytes(topics);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize the topics", e);
+        }
+    }
+
+    /**
+     * Strong entity tag of {@code body}: the first 128 bits of its SHA-256, in hex.
+     */
+    static String eTag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record TopicListing(long generation, String eTag, byte[] body, long loadedAt) {
+    }
+}
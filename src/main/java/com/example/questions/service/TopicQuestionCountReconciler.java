@@ -0,0 +1,78 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Topic;
+import com.example.questions.repository.TopicRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Periodically recounts the questions of every topic and repairs the stored counters that drifted, e.g. because
+ * a write failed between the question update and the {@code $inc}. A counter is only overwritten if it still holds
+ * the value read before counting, so increments racing with a run are not lost. A counter that moved in between is
+ * read and counted again, up to {@value #MAX_ATTEMPTS} times, before it is left to the next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TopicQuestionCountReconciler {
+    private static final int MAX_ATTEMPTS = 3;
+    private final TopicRepository topicRepository;
+    private final QuestionService questionService;
+    private final DataGeneration dataGeneration;
+
+    @Scheduled(initialDelayString = "${questions.topic-counters.initial-delay:PT10S}",
+            fixedDelayString = "${questions.topic-counters.reconciliation-interval:PT15M}")
+    public void reconcileOnSchedule() {
+        reconcile().subscribe(
+                repaired -> {
+                    if (repaired > 0) log.info("Repaired the question counter of {} topic(s)", repaired);
+                },
+                error -> log.warn("Topic question counter reconciliation failed", error)
+        );
+    }
+
+    public Mono<Long> reconcile() {
+        return topicRepository.findAll()
+                .collectList()
+                .flatMap(topics -> questionService.countQuestionsByTopics(topics.stream().map(Topic::getId).toList())
+                        .flatMap(nrOfQuestionsByTopic -> repairDrift(topics, nrOfQuestionsByTopic)));
+    }
+
+    private Mono<Long> repairDrift(List<Topic> topics, Map<String, Integer> nrOfQuestionsByTopic) {
+        return Flux.fromIterable(topics)
+                .filter(topic -> !Objects.equals(topic.getNrOfQuestions(), nrOfQuestionsByTopic.getOrDefault(topic.getId(), 0)))
+                .concatMap(topic -> repair(topic, nrOfQuestionsByTopic.getOrDefault(topic.getId(), 0), 1))
+                .filter(Boolean::booleanValue)
+                .count()
+                .doOnNext(repaired -> {
+                    if (repaired > 0) dataGeneration.advance();
+                });
+    }
+
+    private Mono<Boolean> repair(Topic topic, int nrOfQuestions, int attempt) {
+        return topicRepository.setNrOfQuestions(topic.getId(), topic.getNrOfQuestions(), nrOfQuestions)
+                .flatMap(repaired -> repaired || attempt >= MAX_ATTEMPTS
+                        ? Mono.just(repaired)
+                        : recount(topic.getId(), attempt + 1));
+    }
+
+    private Mono<Boolean> recount(String topicId, int attempt) {
+        return topicRepository.findById(topicId)
+                .flatMap(topic -> questionService.countQuestionsByTopics(List.of(topicId))
+                        .flatMap(nrOfQuestionsByTopic -> {
+                            int nrOfQuestions = nrOfQuestionsByTopic.getOrDefault(topicId, 0);
+                            return Objects.equals(topic.getNrOfQuestions(), nrOfQuestions)
+                                    ? Mono.just(false)
+                                    : repair(topic, nrOfQuestions, attempt);
+                        }))
+                .defaultIfEmpty(false);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Question;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The question lists of the topics, serialized to JSON, bounded by {@code questions.by-topic-cache.maximum-bytes}.
+ * Caffeine's W-TinyLFU admission keeps the few hot topics cached while one-off requests for cold ones do not evict
+ * them. Entries are keyed by a version: per topic for plain lists, the {@link DataGeneration} for lists carrying
+ * counters, since any write moves those. A write bumps the version of its topics and drops their entries, so a
+ * load racing with it is stored under a version nobody asks for anymore. Entries also expire after
+ * {@code questions.by-topic-cache.expire-after-write}, which bounds how long writes of other nodes go unseen.
+ * Concurrent misses for the same entry share one load. Hits, misses, evictions and the bytes held are published
+ * under {@code cache=questions.by-topic}.
+ */
+@Component
+public class TopicQuestionsCache {
+    static final String NAME = "questions.by-topic";
+    private final DataGeneration dataGeneration;
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, byte[]> responses;
+    private final Map<String, Long> topicVersions = new ConcurrentHashMap<>();
+    private final RequestCoalescer<Key, byte[]> loads;
+
+    public TopicQuestionsCache(DataGeneration dataGeneration, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               @Value("${questions.by-topic-cache.maximum-bytes:67108864}") long maximumBytes,
+                               @Value("${questions.by-topic-cache.expire-after-write:PT1M}") Duration expireAfterWrite,
+                               @Value("${questions.coalescing.max-wait:PT1S}") Duration maxWait) {
+        this.dataGeneration = dataGeneration;
+        this.objectMapper = objectMapper;
+        this.loads = new RequestCoalescer<>(maxWait);
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Key key, byte[] body) -> body.length)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, NAME);
+        Gauge.builder("cache.bytes", responses, cache -> cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L))
+                .baseUnit("bytes")
+                .tag("cache", NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Emits the cached JSON of the questions of a topic, loading and serializing them on a miss. Loads that fail
+     * are not cached.
+     */
+    public Mono<byte[]> get(String topicId, boolean includeNrOfQuestions, Supplier<Mono<List<Question>>> loader) {
+        return Mono.defer(() -> {
+            Key key = new Key(topicId, includeNrOfQuestions,
+                    includeNrOfQuestions ? dataGeneration.current() : topicVersions.getOrDefault(topicId, 0L));
+            byte[] cached = responses.getIfPresent(key);
+            if (cached != null) return Mono.just(cached);
+
+            return loads.coalesce(key, () -> loader.get().map(questions -> {
+                byte[] body = serialize(questions);
+                responses.put(key, body);
+                return body;
+            }));
+        });
+    }
+
+    /**
+     * Drops the lists of the given topics. Call it once the write is committed.
+     */
+    public void invalidate(Collection<String> topicIds) {
+        if (topicIds.isEmpty()) return;
+
+        topicIds.forEach(topicId -> topicVersions.merge(topicId, 1L, Long::sum));
+        responses.asMap().keySet().removeIf(key -> key.includeNrOfQuestions() || topicIds.contains(key.topicId()));
+    }
+
+    private byte[] serialize(List<Question> questions) {
+        try {
+            return objectMapper.writeValueAsBytes(questions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize the questions", e);
+        }
+    }
+
+    private record Key(String topicId, boolean includeNrOfQuestions, long version) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Question;
+import com.example.questions.model.Topic;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces the embedded topic snapshots of questions with the full topics emitted by a lookup, for responses that
+ * need the stored question counts. One instance serves one request: the topic ids of every question it sees are
+ * deduplicated and only the ones not resolved yet are looked up, so a result set costs one batched query no matter
+ * how many questions share a topic.
+ */
+class TopicReferenceResolver {
+    private final Function<Collection<String>, Flux<Topic>> topicLookup;
+    private final Map<String, Topic> resolvedTopics = new ConcurrentHashMap<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    TopicReferenceResolver(Function<Collection<String>, Flux<Topic>> topicLookup) {
+        this.topicLookup = topicLookup;
+    }
+
+    Mono<Question> resolve(Question question) {
+        return resolve(List.of(question)).thenReturn(question);
+    }
+
+    Mono<List<Question>> resolve(List<Question> questions) {
+        Set<String> unresolvedTopicIds = questions.stream()
+                .flatMap(question -> question.getTopics().stream())
+                .map(Topic::getId)
+                .filter(topicId -> !resolvedTopics.containsKey(topicId))
+                .collect(Collectors.toSet());
+
+        Mono<Void> lookup = unresolvedTopicIds.isEmpty()
+                ? Mono.empty()
+                : Flux.defer(() -> {
+                    lookups.incrementAndGet();
+                    return topicLookup.apply(unresolvedTopicIds);
+                }).doOnNext(topic -> resolvedTopics.put(topic.getId(), topic)).then();
+
+        return lookup.then(Mono.fromCallable(() -> {
+            questions.forEach(this::applyResolvedTopics);
+            return questions;
+        }));
+    }
+
+    /**
+     * Number of topic lookups issued so far.
+     */
+    int getLookups() {
+        return lookups.get();
+    }
+
+    private void applyResolvedTopics(Question question) {
+        question.setTopics(question.getTopics().stream()
+                .map(topic -> resolvedTopics.get(topic.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+}
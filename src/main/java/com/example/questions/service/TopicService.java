@@ -1,12 +1,12 @@
 package com.example.questions.service;
 
 import com.example.questions.model.Topic;
-
-import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface TopicService {
-    Topic addTopic(Topic topic) throws Exception;
+    Mono<Topic> addTopic(Topic topic);
 
-    List<Topic> findAll();
-    Topic findById(String id);
+    Flux<Topic> findAll();
+    Mono<Topic> findById(String id);
 }
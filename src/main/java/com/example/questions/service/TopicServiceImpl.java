@@ -6,70 +6,69 @@ import com.example.questions.model.Topic;
 import com.example.questions.repository.TopicRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.net.ConnectException;
-import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class TopicServiceImpl implements TopicService {
     private final TopicRepository topicRepository;
-    private final QuestionService questionService;
+    private final TopicCatalog topicCatalog;
+    private final DataGeneration dataGeneration;
 
     @Override
-    public Topic addTopic(Topic topic) throws Exception {
-        try {
-            verifyTopic(topic);
-            topic.setNrOfQuestions(0);
-            return topicRepository.insert(topic);
-        } catch (InvalidInputException e) {
-            throw new InvalidInputException(e.getMessage());
-        } catch (Exception e) {
-            throw new ConnectException("Failed to create the topic");
-        }
+    public Mono<Topic> addTopic(Topic topic) {
+        return verifyTopic(topic)
+                .then(Mono.defer(() -> {
+                    topic.setNrOfQuestions(0);
+                    return topicRepository.insert(topic);
+                }))
+                .doOnNext(createdTopic -> {
+                    topicCatalog.put(createdTopic);
+                    dataGeneration.advance();
+                })
+                .onErrorMap(e -> !(e instanceof InvalidInputException),
+                        e -> new ConnectException("Failed to create the topic"));
     }
 
     @Override
-    public List<Topic> findAll() {
-        List<Topic> topics = topicRepository.findAll();
-
-        topics.forEach(topic -> {
-            try {
-                topic.setNrOfQuestions(questionService.countQuestionsByTopic(topic.getId()));
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
-
-        return topics;
+    public Flux<Topic> findAll() {
+        return topicRepository.findAll().map(this::withDefaultNrOfQuestions);
     }
 
     @Override
-    public Topic findById(String id) {
-        Topic topic = topicRepository.findById(id).orElseThrow(() -> new TopicNotFoundException("Topic not found"));
-        try {
-            topic.setNrOfQuestions(questionService.countQuestionsByTopic(topic.getId()));
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    public Mono<Topic> findById(String id) {
+        return topicRepository.findById(id)
+                .switchIfEmpty(Mono.error(new TopicNotFoundException("Topic not found")))
+                .map(this::withDefaultNrOfQuestions);
+    }
+
+    private Topic withDefaultNrOfQuestions(Topic topic) {
+        if (topic.getNrOfQuestions() == null) {
+            topic.setNrOfQuestions(0);
         }
         return topic;
     }
 
-    private void verifyTopic(Topic topic) throws InvalidInputException {
+    private Mono<Void> verifyTopic(Topic topic) {
         if (topic == null) {
-            throw new InvalidInputException("Please provide a topic");
+            return Mono.error(new InvalidInputException("Please provide a topic"));
         }
 
         if (topic.getName() == null || topic.getName().isBlank()) {
-            throw new InvalidInputException("Please provide a name for the topic");
+            return Mono.error(new InvalidInputException("Please provide a name for the topic"));
         }
 
         if (topic.getNrOfQuestions() != null) {
-            throw new InvalidInputException("Setting the number of questions while creating the topic is not allowed");
+            return Mono.error(new InvalidInputException("Setting the number of questions while creating the topic is not allowed"));
         }
 
-        if (topicRepository.existsByNameIgnoreCase(topic.getName())) {
-            throw new InvalidInputException("A topic with that name already exists");
-        }
+        return topicCatalog.existsByNameIgnoreCase(topic.getName())
+                .flatMap(cached -> cached ? Mono.just(true) : topicRepository.existsByNameIgnoreCase(topic.getName()))
+                .filter(Boolean::booleanValue)
+                .flatMap(exists -> Mono.error(new InvalidInputException("A topic with that name already exists")))
+                .then();
     }
 }
@@ -0,0 +1,44 @@
+package com.example.questions.validator;
+
+import com.example.questions.exception.BlankTextException;
+
+import java.util.List;
+
+/**
+ * Outcome of validating the text fields of a question. There is one shared, precomputed result per combination of
+ * invalid fields, rejection included, so turning bad input away allocates nothing.
+ */
+public final class ValidationResult {
+    public static final ValidationResult VALID = new ValidationResult(List.of());
+    private static final ValidationResult INVALID_QUESTION = new ValidationResult(List.of("question"));
+    private static final ValidationResult INVALID_ANSWER = new ValidationResult(List.of("answer"));
+    private static final ValidationResult INVALID_QUESTION_AND_ANSWER = new ValidationResult(List.of("question", "answer"));
+    private final List<String> invalidFields;
+    private final BlankTextException rejection;
+
+    private ValidationResult(List<String> invalidFields) {
+        this.invalidFields = invalidFields;
+        this.rejection = invalidFields.isEmpty() ? null
+                : new BlankTextException("Complete required fields: " + String.join(", ", invalidFields));
+    }
+
+    static ValidationResult of(boolean validQuestion, boolean validAnswer) {
+        if (validQuestion) return validAnswer ? VALID : INVALID_ANSWER;
+        return validAnswer ? INVALID_QUESTION : INVALID_QUESTION_AND_ANSWER;
+    }
+
+    public boolean isValid() {
+        return invalidFields.isEmpty();
+    }
+
+    public List<String> getInvalidFields() {
+        return invalidFields;
+    }
+
+    /**
+     * The exception reporting the invalid fields, or {@code null} when the input is valid.
+     */
+    public BlankTextException getRejection() {
+        return rejection;
+    }
+}
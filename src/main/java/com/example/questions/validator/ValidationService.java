@@ -1,7 +1,13 @@
 package com.example.questions.validator;
 
-import com.example.questions.exception.BlankTextException;
-
 public interface ValidationService {
-    void isValidText(String text) throws BlankTextException;
+    /**
+     * Whether the text has content: it is not null, not blank and not the word {@code null} in any case.
+     */
+    boolean isValidText(String text);
+
+    /**
+     * Validates the text fields of a question, reporting every invalid field at once.
+     */
+    ValidationResult validateQuestion(String question, String answer);
 }
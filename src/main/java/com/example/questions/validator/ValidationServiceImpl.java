@@ -1,17 +1,41 @@
 package com.example.questions.validator;
 
-import com.example.questions.exception.BlankTextException;
 import org.springframework.stereotype.Component;
 
+/**
+ * Scans the text in place instead of trimming a copy of it, so validating allocates nothing, rejections included.
+ */
 @Component
 public class ValidationServiceImpl implements ValidationService {
+    private static final String NULL = "null";
+
+    @Override
+    public boolean isValidText(String text) {
+        return text != null && !isNullWord(text) && !isBlank(text);
+    }
+
     @Override
-    public void isValidText(String text) throws BlankTextException {
-        if (!isNotEmptyText(text)) throw new BlankTextException("Complete required fields");
+    public ValidationResult validateQuestion(String question, String answer) {
+        return ValidationResult.of(isValidText(question), isValidText(answer));
+    }
+
+    private static boolean isBlank(String text) {
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (!Character.isWhitespace(codePoint)) return false;
+            i += Character.charCount(codePoint);
+        }
+        return true;
     }
 
-    private boolean isNotEmptyText(String text) {
-        if (text == null || text.trim().equalsIgnoreCase("null")) return false;
-        return !text.isBlank();
+    /**
+     * Whether the text is {@code null} in any case once the characters {@link String#trim()} strips are skipped.
+     */
+    private static boolean isNullWord(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+        return end - start == NULL.length() && text.regionMatches(true, start, NULL, 0, NULL.length());
     }
 }
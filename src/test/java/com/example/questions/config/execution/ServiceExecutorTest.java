@@ -0,0 +1,58 @@
+package com.example.questions.config.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServiceExecutorTest {
+    private Scheduler scheduler;
+
+    @AfterEach
+    public void tearDown() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    void eventLoopModeShouldRunCallsOnTheCallingThread() {
+        Thread caller = Thread.currentThread();
+
+        StepVerifier.create(executor(ExecutionProperties.Mode.EVENT_LOOP).call(Thread::currentThread))
+                .assertNext(thread -> assertEquals(caller, thread))
+                .verifyComplete();
+    }
+
+    @Test
+    void boundedElasticModeShouldRunCallsOnPlatformThreadsOfItsOwn() {
+        Thread caller = Thread.currentThread();
+
+        StepVerifier.create(executor(ExecutionProperties.Mode.BOUNDED_ELASTIC).call(Thread::currentThread))
+                .assertNext(thread -> {
+                    assertNotEquals(caller, thread);
+                    assertFalse(thread.isVirtual());
+                    assertTrue(thread.getName().startsWith("questions-service"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void virtualThreadModeShouldRunCallsOnVirtualThreads() {
+        StepVerifier.create(executor(ExecutionProperties.Mode.VIRTUAL_THREADS).call(() -> Thread.currentThread().isVirtual()))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    private ServiceExecutor executor(ExecutionProperties.Mode mode) {
+        ExecutionProperties properties = new ExecutionProperties();
+        properties.setMode(mode);
+        scheduler = ServiceExecutor.scheduler(properties);
+        return new ServiceExecutor(scheduler);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.questions.config.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingReactiveJwtDecoderTest {
+    @Mock
+    private ReactiveJwtDecoder delegate;
+
+    @Test
+    void shouldDecodeAReusedTokenOnce() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(300));
+        when(delegate.decode("token")).thenReturn(Mono.just(jwt));
+        CachingReactiveJwtDecoder decoder = new CachingReactiveJwtDecoder(delegate, 100);
+
+        StepVerifier.create(decoder.decode("token")).expectNext(jwt).verifyComplete();
+        StepVerifier.create(decoder.decode("token")).expectNext(jwt).verifyComplete();
+
+        verify(delegate, times(1)).decode("token");
+    }
+
+    @Test
+    void shouldNotCacheExpiredTokens() {
+        Jwt jwt = jwt("token", Instant.now().minusSeconds(1));
+        when(delegate.decode("token")).thenReturn(Mono.just(jwt));
+        CachingReactiveJwtDecoder decoder = new CachingReactiveJwtDecoder(delegate, 100);
+
+        StepVerifier.create(decoder.decode("token")).expectNext(jwt).verifyComplete();
+        StepVerifier.create(decoder.decode("token")).expectNext(jwt).verifyComplete();
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() {
+        when(delegate.decode("token")).thenReturn(Mono.error(new BadJwtException("Invalid signature")));
+        CachingReactiveJwtDecoder decoder = new CachingReactiveJwtDecoder(delegate, 100);
+
+        StepVerifier.create(decoder.decode("token")).expectError(BadJwtException.class).verify();
+        StepVerifier.create(decoder.decode("token")).expectError(BadJwtException.class).verify();
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("user")
+                .issuedAt(expiresAt.minusSeconds(600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
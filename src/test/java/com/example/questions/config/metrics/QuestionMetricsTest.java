@@ -0,0 +1,33 @@
+package com.example.questions.config.metrics;
+
+import com.example.questions.exception.InvalidInputException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QuestionMetricsTest {
+    private SimpleMeterRegistry meterRegistry;
+    private QuestionMetrics questionMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        questionMetrics = new QuestionMetrics(meterRegistry);
+    }
+
+    @Test
+    void shouldRecordIntoOneMeterPerTag() {
+        questionMetrics.recordPayloadSize("byTopic", 3);
+        questionMetrics.recordPayloadSize("byTopic", 5);
+        questionMetrics.recordPayloadSize("sample", 1);
+        questionMetrics.recordValidationRejection(new InvalidInputException("Invalid topic"));
+        questionMetrics.recordValidationRejection(InvalidInputException.class);
+
+        assertEquals(8, meterRegistry.get("questions.payload.size").tag("operation", "byTopic").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("questions.payload.size").tag("operation", "sample").summary().count());
+        assertEquals(2, meterRegistry.get("questions.validation.rejections")
+                .tag("exception", "InvalidInputException").counter().count());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.questions.config.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RepositoryMetricsInterceptorTest {
+    private SimpleMeterRegistry meterRegistry;
+    private SampleRepository repository;
+
+    interface SampleRepository {
+        Flux<String> findAll();
+
+        Mono<String> findById(String id);
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ProxyFactory proxyFactory = new ProxyFactory(new SampleRepository() {
+            @Override
+            public Flux<String> findAll() {
+                return Flux.just("1", "2", "3");
+            }
+
+            @Override
+            public Mono<String> findById(String id) {
+                return Mono.error(new IllegalStateException());
+            }
+        });
+        proxyFactory.addInterface(SampleRepository.class);
+        proxyFactory.addAdvice(new RepositoryMetricsInterceptor(meterRegistry, "SampleRepository"));
+        repository = (SampleRepository) proxyFactory.getProxy();
+    }
+
+    @Test
+    void shouldTimeEverySubscriptionAndRecordTheNumberOfResults() {
+        Flux<String> findAll = repository.findAll();
+
+        assertNull(meterRegistry.find(RepositoryMetricsInterceptor.CALLS).timer());
+
+        StepVerifier.create(findAll).expectNextCount(3).verifyComplete();
+        StepVerifier.create(findAll).expectNextCount(3).verifyComplete();
+
+        assertEquals(2, meterRegistry.get(RepositoryMetricsInterceptor.CALLS)
+                .tags("repository", "SampleRepository", "method", "findAll", "outcome", "success")
+                .timer().count());
+        assertEquals(6, meterRegistry.get(RepositoryMetricsInterceptor.RESULTS)
+                .tags("method", "findAll")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void shouldTagFailedCallsWithTheErrorOutcome() {
+        StepVerifier.create(repository.findById("1")).expectError(IllegalStateException.class).verify();
+
+        assertEquals(1, meterRegistry.get(RepositoryMetricsInterceptor.CALLS)
+                .tags("method", "findById", "outcome", "error")
+                .timer().count());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.questions.config.mongo;
+
+import com.example.questions.model.Question;
+import com.example.questions.model.Topic;
+import com.example.questions.repository.QuestionRepository;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+@DataMongoTest
+@ActiveProfiles("test")
+@Import(EmbeddedTopicMigration.class)
+class EmbeddedTopicMigrationTest {
+    @Autowired
+    private EmbeddedTopicMigration migration;
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+    @Autowired
+    private QuestionRepository questionRepository;
+    private final ObjectId topicId = new ObjectId();
+    private final ObjectId questionId = new ObjectId();
+
+    @AfterEach
+    public void tearDown() {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(questionId)), "questions").block();
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(topicId)), "topics").block();
+    }
+
+    @Test
+    void shouldReplaceTopicReferencesWithEmbeddedSnapshots() {
+        mongoTemplate.insert(new Document("_id", topicId).append("name", "Java").append("nrOfQuestions", 1), "topics").block();
+        mongoTemplate.insert(new Document("_id", questionId)
+                .append("question", "How does Java work?")
+                .append("answer", "Answer")
+                .append("topics", List.of(new DBRef("topics", topicId), new DBRef("topics", new ObjectId()))), "questions").block();
+
+        assertEquals(1L, migration.migrate().block());
+        assertEquals(0L, migration.migrate().block());
+
+        List<Question> questions = questionRepository.findQuestionsByTopic(topicId.toHexString()).collectList().block();
+        assertEquals(1, questions.size());
+        assertEquals(List.of(new Topic(topicId.toHexString(), "Java", null)), questions.get(0).getTopics());
+    }
+}
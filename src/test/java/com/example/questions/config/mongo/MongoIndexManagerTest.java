@@ -0,0 +1,78 @@
+package com.example.questions.config.mongo;
+
+import com.example.questions.config.mongo.MongoIndexManager.IndexState;
+import com.example.questions.model.Question;
+import com.example.questions.model.Topic;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+@DataMongoTest(properties = "questions.indexes.create-on-startup=false")
+@ActiveProfiles("test")
+@Import(MongoIndexManager.class)
+class MongoIndexManagerTest {
+    @Autowired
+    private MongoIndexManager indexManager;
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        dropIndexes(Question.class, List.of("topics_id_id"));
+        dropIndexes(Topic.class, List.of("name_unique", "name_case_insensitive", "name"));
+    }
+
+    @Test
+    void shouldReportMissingIndexesAndCreateThemOnce() {
+        createCollectionIfMissing(Question.class);
+        createCollectionIfMissing(Topic.class);
+
+        assertEquals(IndexState.MISSING, indexManager.inspect().block().get("questions.topics_id_id"));
+
+        assertEquals(3L, indexManager.ensureIndexes().block());
+        assertEquals(0L, indexManager.ensureIndexes().block());
+        assertEquals(Map.of(
+                "questions.topics_id_id", IndexState.READY,
+                "topics.name_unique", IndexState.READY,
+                "topics.name_case_insensitive", IndexState.READY
+        ), indexManager.inspect().block());
+    }
+
+    @Test
+    void shouldAcceptAnEquivalentIndexUnderAnotherName() {
+        mongoTemplate.indexOps(Topic.class).ensureIndex(new Index().on("name", Sort.Direction.ASC).unique().named("name")).block();
+
+        assertEquals(IndexState.READY, indexManager.inspect().block().get("topics.name_unique"));
+    }
+
+    private void createCollectionIfMissing(Class<?> entityClass) {
+        mongoTemplate.collectionExists(entityClass)
+                .filter(exists -> !exists)
+                .flatMap(missing -> mongoTemplate.createCollection(entityClass))
+                .block();
+    }
+
+    /** Drops only the indexes the tests may have created, ignoring the ones that are not there. */
+    private void dropIndexes(Class<?> entityClass, List<String> names) {
+        for (String name : names) {
+            mongoTemplate.indexOps(entityClass).dropIndex(name)
+                    .onErrorResume(e -> Mono.empty())
+                    .block();
+        }
+    }
+}
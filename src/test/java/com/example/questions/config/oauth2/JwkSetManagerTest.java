@@ -0,0 +1,97 @@
+package com.example.questions.config.oauth2;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JwkSetManagerTest {
+    private static final String JWK_SET_URI = "http://localhost/certs";
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private RSAKey key;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        key = new RSAKeyGenerator(2048).keyID("current").generate();
+        String jwkSet = new JWKSet(key.toPublicJWK()).toString();
+        webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    fetches.incrementAndGet();
+                    return Mono.delay(Duration.ofMillis(50)).thenReturn(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(jwkSet)
+                            .build());
+                })
+                .build();
+    }
+
+    @Test
+    void shouldShareOneFetchBetweenConcurrentLookupsOfAnUnknownKey() {
+        JwkSetManager manager = new JwkSetManager(webClient, JWK_SET_URI, Duration.ofSeconds(30), null, nanoTime::get);
+
+        StepVerifier.create(Flux.merge(manager.select(header("current")), manager.select(header("current"))))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void shouldServeKnownKeysFromMemory() {
+        JwkSetManager manager = new JwkSetManager(webClient, JWK_SET_URI, Duration.ofSeconds(30), null, nanoTime::get);
+        manager.refresh().block();
+
+        StepVerifier.create(manager.select(header("current"))).expectNextCount(1).verifyComplete();
+
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void shouldNotRefreshAgainForUnknownKeysWithinTheMinimumInterval() {
+        JwkSetManager manager = new JwkSetManager(webClient, JWK_SET_URI, Duration.ofSeconds(30), null, nanoTime::get);
+
+        StepVerifier.create(manager.select(header("rotated"))).verifyComplete();
+        StepVerifier.create(manager.select(header("rotated"))).verifyComplete();
+        assertEquals(1, fetches.get());
+
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+        StepVerifier.create(manager.select(header("rotated"))).verifyComplete();
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void shouldServeBootstrappedKeysWithoutFetching() {
+        ByteArrayResource bootstrap = new ByteArrayResource(new JWKSet(key.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8));
+        JwkSetManager manager = new JwkSetManager(webClient, JWK_SET_URI, Duration.ofSeconds(30), bootstrap, nanoTime::get);
+
+        StepVerifier.create(manager.select(header("current"))).expectNextCount(1).verifyComplete();
+
+        assertEquals(0, fetches.get());
+    }
+
+    private static JWSHeader header(String keyId) {
+        return new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.questions.config.security;
+
+import com.example.questions.config.jwt.RoleMaskedAuthenticationToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jwt.Jwt;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RolePolicyTest {
+    private final RolePolicy clients = RolePolicy.anyOf(Role.CLIENT_HR, Role.CLIENT_DEVELOPER);
+
+    @Test
+    void shouldGrantTokensCarryingOneOfTheRoles() {
+        RoleMaskedAuthenticationToken token = new RoleMaskedAuthenticationToken(jwt(),
+                AuthorityUtils.createAuthorityList("SCOPE_openid", "ROLE_client-developer"), "user");
+
+        assertEquals(Role.CLIENT_DEVELOPER.getMask(), token.getRoleMask());
+        StepVerifier.create(clients.check(Mono.just(token), null))
+                .assertNext(decision -> assertTrue(decision.isGranted()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDenyCallersWithoutAnyOfTheRoles() {
+        RoleMaskedAuthenticationToken token = new RoleMaskedAuthenticationToken(jwt(),
+                AuthorityUtils.createAuthorityList("ROLE_client-admin"), "user");
+
+        StepVerifier.create(clients.check(Mono.just(token), null))
+                .assertNext(decision -> assertFalse(decision.isGranted()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFallBackToTheAuthoritiesOfOtherAuthentications() {
+        Authentication authentication = new TestingAuthenticationToken("user", null, "ROLE_client-hr");
+
+        StepVerifier.create(clients.check(Mono.just(authentication), null))
+                .assertNext(decision -> assertTrue(decision.isGranted()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDenyAnonymousCallers() {
+        StepVerifier.create(clients.check(Mono.empty(), null))
+                .assertNext(decision -> assertFalse(decision.isGranted()))
+                .verifyComplete();
+    }
+
+    private static Jwt jwt() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+    }
+}
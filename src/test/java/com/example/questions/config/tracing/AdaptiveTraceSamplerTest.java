@@ -0,0 +1,80 @@
+package com.example.questions.config.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveTraceSamplerTest {
+    private static final Duration FAST = Duration.ofMillis(5);
+    private final AtomicLong nanoTime = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private TraceSamplingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new TraceSamplingProperties();
+        properties.setProbability(0);
+        properties.setMaxSpansPerSecond(10);
+        properties.setSlowThreshold(Duration.ofMillis(500));
+    }
+
+    @Test
+    void shouldAlwaysSampleErrorsAndSlowTraces() {
+        AdaptiveTraceSampler sampler = new AdaptiveTraceSampler(properties, meterRegistry, nanoTime::get);
+
+        assertTrue(sampler.isSampled("/api/v1/topics", true, FAST, 20));
+        assertTrue(sampler.isSampled("/api/v1/topics", false, Duration.ofSeconds(1), 20));
+        assertFalse(sampler.isSampled("/api/v1/topics", false, FAST, 1));
+
+        assertEquals(1, decisions("/api/v1/topics", "sampled", "error"));
+        assertEquals(1, decisions("/api/v1/topics", "sampled", "slow"));
+        assertEquals(1, decisions("/api/v1/topics", "dropped", "not_sampled"));
+    }
+
+    @Test
+    void shouldUseTheProbabilityOfTheFirstMatchingEndpoint() {
+        properties.setEndpoints(List.of(endpoint("/api/v1/questions/{id}/page", 0), endpoint("/api/v1/questions/**", 1)));
+        AdaptiveTraceSampler sampler = new AdaptiveTraceSampler(properties, meterRegistry, nanoTime::get);
+
+        assertTrue(sampler.isSampled("/api/v1/questions/{id}", false, FAST, 1));
+        assertFalse(sampler.isSampled("/api/v1/questions/{id}/page", false, FAST, 1));
+        assertFalse(sampler.isSampled("/api/v1/topics", false, FAST, 1));
+    }
+
+    @Test
+    void shouldCapTheSpansExportedPerSecond() {
+        properties.setProbability(1);
+        AdaptiveTraceSampler sampler = new AdaptiveTraceSampler(properties, meterRegistry, nanoTime::get);
+
+        assertTrue(sampler.isSampled(null, false, FAST, 6));
+        assertFalse(sampler.isSampled(null, false, FAST, 6));
+        assertTrue(sampler.isSampled(null, true, FAST, 6));
+
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertTrue(sampler.isSampled(null, false, FAST, 6));
+        assertEquals(1, decisions("none", "dropped", "rate_limited"));
+    }
+
+    private double decisions(String endpoint, String decision, String reason) {
+        return meterRegistry.get(AdaptiveTraceSampler.DECISIONS)
+                .tags("endpoint", endpoint, "decision", decision, "reason", reason)
+                .counter().count();
+    }
+
+    private static TraceSamplingProperties.Endpoint endpoint(String pattern, double probability) {
+        TraceSamplingProperties.Endpoint endpoint = new TraceSamplingProperties.Endpoint();
+        endpoint.setPattern(pattern);
+        endpoint.setProbability(probability);
+        return endpoint;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.questions.config.tracing;
+
+import brave.Span;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TailSamplingSpanHandlerTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final List<String> exported = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private TraceSamplingProperties properties;
+    private Tracing tracing;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new TraceSamplingProperties();
+        properties.setMaxPendingTraces(1);
+        properties.setPendingTimeout(Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    @Test
+    void shouldExportLateSpansOfSampledTracesOnly() {
+        properties.setProbability(1);
+        start();
+        Span root = tracing.tracer().newTrace().name("root").start();
+        Span child = tracing.tracer().newChild(root.context()).name("child").start();
+        Span lateChild = tracing.tracer().newChild(root.context()).name("late").start();
+
+        child.finish();
+        root.finish();
+        lateChild.finish();
+
+        assertEquals(List.of("child", "root", "late"), exported);
+
+        properties.setProbability(0);
+        start();
+        root = tracing.tracer().newTrace().name("root").start();
+        lateChild = tracing.tracer().newChild(root.context()).name("late").start();
+        root.finish();
+        lateChild.finish();
+
+        assertEquals(List.of("child", "root", "late"), exported);
+    }
+
+    @Test
+    void shouldDropTracesWhoseRootNeverEndsAndFreeTheirSlot() {
+        properties.setProbability(1);
+        start();
+        Span abandonedRoot = tracing.tracer().newTrace().name("abandoned").start();
+        tracing.tracer().newChild(abandonedRoot.context()).name("orphan").start().finish();
+
+        Span root = tracing.tracer().newTrace().name("root").start();
+        tracing.tracer().newChild(root.context()).name("overflow").start().finish();
+        nanoTime.addAndGet(Duration.ofSeconds(31).toNanos());
+        tracing.tracer().newChild(root.context()).name("child").start().finish();
+        root.finish();
+
+        assertEquals(List.of("child", "root"), exported);
+        assertEquals(1, decisions("overflow"));
+        assertEquals(1, decisions("expired"));
+    }
+
+    @Test
+    void shouldFreeTheSlotOfATraceAsSoonAsItIsDecided() {
+        properties.setProbability(1);
+        start();
+        Span first = tracing.tracer().newTrace().name("first").start();
+        tracing.tracer().newChild(first.context()).name("first-child").start().finish();
+        first.finish();
+
+        Span second = tracing.tracer().newTrace().name("second").start();
+        tracing.tracer().newChild(second.context()).name("second-child").start().finish();
+        second.finish();
+
+        assertEquals(List.of("first-child", "first", "second-child", "second"), exported);
+        assertNull(meterRegistry.find(AdaptiveTraceSampler.DECISIONS).tag("reason", "overflow").counter());
+    }
+
+    private void start() {
+        if (tracing != null) tracing.close();
+        AdaptiveTraceSampler sampler = new AdaptiveTraceSampler(properties, meterRegistry);
+        SpanHandler delegate = new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                exported.add(span.name());
+                return true;
+            }
+        };
+        tracing = Tracing.newBuilder()
+                .addSpanHandler(new TailSamplingSpanHandler(List.of(delegate), sampler, properties, nanoTime::get))
+                .build();
+    }
+
+    private double decisions(String reason) {
+        return meterRegistry.get(AdaptiveTraceSampler.DECISIONS)
+                .tags("endpoint", "none", "decision", "dropped", "reason", reason)
+                .counter().count();
+    }
+}
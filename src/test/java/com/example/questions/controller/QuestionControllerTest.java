@@ -1,30 +1,49 @@
 package com.example.questions.controller;
 
+import com.example.questions.model.ImportReport;
+import com.example.questions.model.ImportResult;
 import com.example.questions.model.Question;
+import com.example.questions.model.QuestionPage;
 import com.example.questions.model.ResponseData;
 import com.example.questions.model.Status;
 import com.example.questions.model.Topic;
+import com.example.questions.service.DataGeneration;
+import com.example.questions.service.QuestionImportService;
 import com.example.questions.service.QuestionService;
+import com.example.questions.service.TopicQuestionsCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class QuestionControllerTest {
     @Mock
     private QuestionService questionService;
+    @Mock
+    private QuestionImportService importService;
+    @Spy
+    private TopicQuestionsCache topicQuestionsCache = new TopicQuestionsCache(new DataGeneration(), new ObjectMapper(),
+            new SimpleMeterRegistry(), 1 << 20, Duration.ofMinutes(1), Duration.ofSeconds(1));
     @InjectMocks
     private QuestionController questionController;
     private Question question;
@@ -49,7 +68,7 @@ class QuestionControllerTest {
     @Test
     void deleteQuestionShouldCallService() {
         final String questionId = "1";
-        when(questionService.deleteQuestion(questionId)).thenReturn(responseData);
+        when(questionService.deleteQuestion(questionId)).thenReturn(Mono.just(responseData));
         ResponseEntity<ResponseData> result = questionController.deleteQuestion(questionId).block();
         assert result != null;
         assertEquals(HttpStatus.OK, result.getStatusCode());
@@ -57,29 +76,63 @@ class QuestionControllerTest {
     }
 
     @Test
-    void addQuestionShouldCallService() throws Exception {
-        when(questionService.createQuestion(question)).thenReturn(question);
+    void addQuestionShouldCallService() {
+        when(questionService.createQuestion(question)).thenReturn(Mono.just(question));
         Question result = questionController.addQuestion(question).block().getBody();
         assertEquals(question, result);
         verify(questionService).createQuestion(question);
     }
 
     @Test
-    void getQuestionsByTopicIdShouldCallService() throws Exception {
+    void getQuestionsByTopicIdShouldCallServiceOnceAndServeRepeatsFromTheCache() throws Exception {
         final String topicId = "1";
         List<Question> questions = new ArrayList<>();
         questions.add(question);
-        when(questionService.getQuestionsByTopicId(topicId)).thenReturn(questions);
-        ResponseEntity<List<Question>> result = questionController.getQuestionsByTopicId(topicId).block();
+        when(questionService.getQuestionsByTopicId(topicId, false)).thenReturn(Flux.fromIterable(questions));
+        ResponseEntity<byte[]> result = questionController.getQuestionsByTopicId(topicId, false).block();
+        ResponseEntity<byte[]> repeated = questionController.getQuestionsByTopicId(topicId, false).block();
+        assert result != null && repeated != null;
+        assertEquals(new ObjectMapper().writeValueAsString(questions), new String(result.getBody()));
+        assertSame(result.getBody(), repeated.getBody());
+        verify(questionService).getQuestionsByTopicId(topicId, false);
+    }
+
+    @Test
+    void getQuestionsPageByTopicIdShouldCallService() {
+        final String topicId = "1";
+        QuestionPage page = new QuestionPage(List.of(question), "65f000000000000000000001");
+        when(questionService.getQuestionsPageByTopicId(topicId, null, 20, false)).thenReturn(Mono.just(page));
+        ResponseEntity<QuestionPage> result = questionController.getQuestionsPageByTopicId(topicId, null, 20, false).block();
+        assert result != null;
+        assertEquals(page, result.getBody());
+        verify(questionService).getQuestionsPageByTopicId(topicId, null, 20, false);
+    }
+
+    @Test
+    void streamQuestionsByTopicIdShouldCallService() {
+        final String topicId = "1";
+        when(questionService.getQuestionsByTopicId(topicId, false)).thenReturn(Flux.just(question));
+        StepVerifier.create(questionController.streamQuestionsByTopicId(topicId, false))
+                .expectNext(question)
+                .verifyComplete();
+        verify(questionService).getQuestionsByTopicId(topicId, false);
+    }
+
+    @Test
+    void importQuestionsShouldCallImportService() {
+        Flux<Question> questions = Flux.just(question);
+        ImportReport report = new ImportReport(1, 0, List.of(new ImportResult(0, Status.SUCCESS, "1", null)));
+        when(importService.importQuestions(questions)).thenReturn(Mono.just(report));
+        ResponseEntity<ImportReport> result = questionController.importQuestions(questions).block();
         assert result != null;
-        assertEquals(questions, result.getBody());
-        verify(questionService).getQuestionsByTopicId(topicId);
+        assertEquals(report, result.getBody());
+        verify(importService).importQuestions(questions);
     }
 
     @Test
-    void editQuestionShouldCallService() throws Exception {
+    void editQuestionShouldCallService() {
         final String questionId = "1";
-        when(questionService.updateQuestion(questionId, question.getQuestion(), question.getAnswer(), question.getTopics())).thenReturn(question);
+        when(questionService.updateQuestion(questionId, question.getQuestion(), question.getAnswer(), question.getTopics())).thenReturn(Mono.just(question));
         ResponseEntity<Question> result = questionController.editQuestion(questionId, question).block();
         assert result != null;
         assertEquals(question, result.getBody());
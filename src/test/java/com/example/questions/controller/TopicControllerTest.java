@@ -1,6 +1,8 @@
 package com.example.questions.controller;
 
 import com.example.questions.model.Topic;
+import com.example.questions.service.TopicListingCache;
+import com.example.questions.service.TopicListingCache.TopicListing;
 import com.example.questions.service.TopicService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,14 +11,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class TopicControllerTest {
     @Mock
     private TopicService topicService;
+    @Mock
+    private TopicListingCache topicListingCache;
     @InjectMocks
     private TopicController topicController;
     private Topic topic;
@@ -33,19 +41,25 @@ class TopicControllerTest {
     }
 
     @Test
-    void addTopicShouldCallService() throws Exception {
+    void addTopicShouldCallService() {
+        when(topicService.addTopic(topic)).thenReturn(Mono.just(topic));
         topicController.addTopic(topic).block();
         verify(topicService).addTopic(topic);
     }
 
     @Test
-    void displayTopicsShouldCallService() {
-        topicController.displayTopics().block();
-        verify(topicService).findAll();
+    void displayTopicsShouldServeTheCachedListingWithItsETag() {
+        when(topicListingCache.get()).thenReturn(Mono.just(new TopicListing(1, "\"a-1\"", new byte[]{'[', ']'}, 0)));
+
+        ResponseEntity<byte[]> response = topicController.displayTopics().block();
+
+        assertEquals("\"a-1\"", response.getHeaders().getETag());
+        assertEquals("[]", new String(response.getBody()));
     }
 
     @Test
     void getTopicByIdShouldCallService() {
+        when(topicService.findById("1")).thenReturn(Mono.just(topic));
         topicController.getTopicById("1").block();
         verify(topicService).findById("1");
     }
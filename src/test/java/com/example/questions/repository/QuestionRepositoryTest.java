@@ -2,20 +2,24 @@ package com.example.questions.repository;
 
 import com.example.questions.model.Question;
 import com.example.questions.model.Topic;
+import com.example.questions.model.TopicQuestionCount;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
 @DataMongoTest
+@ActiveProfiles("test")
 class QuestionRepositoryTest {
     @Autowired
     private QuestionRepository questionRepository;
@@ -27,19 +31,19 @@ class QuestionRepositoryTest {
         Topic topic = new Topic("1", "Java", null);
         question1 = new Question("How does Java work?", "Answer 1", List.of(topic));
         question2 = new Question("What is Spring?", "Answer 2", List.of(topic));
-        questionRepository.saveAll(List.of(question1, question2));
+        questionRepository.saveAll(List.of(question1, question2)).blockLast();
     }
 
     @AfterEach
     public void tearDown() {
-        questionRepository.delete(question1);
-        questionRepository.delete(question2);
+        questionRepository.delete(question1).block();
+        questionRepository.delete(question2).block();
     }
 
     @Test
     void shouldFindQuestionsByTopic() {
         final String topicId = "1";
-        List<Question> questions = questionRepository.findQuestionsByTopic(topicId);
+        List<Question> questions = questionRepository.findQuestionsByTopic(topicId).collectList().block();
 
         assertEquals(2, questions.size());
         assertTrue(questions.stream().anyMatch(q -> q.getQuestion().equals(question1.getQuestion())));
@@ -49,14 +53,77 @@ class QuestionRepositoryTest {
     @Test
     void shouldGetNrOfQuestionsByTopicId() {
         final String topicId = "1";
-        int nrOfQuestions = questionRepository.getNrOfQuestionsByTopicId(topicId);
+        Long nrOfQuestions = questionRepository.getNrOfQuestionsByTopicId(topicId).block();
 
-        assertEquals(2, nrOfQuestions);
+        assertEquals(2L, nrOfQuestions);
+    }
+
+    @Test
+    void shouldCountQuestionsGroupedByTopic() {
+        List<TopicQuestionCount> counts = questionRepository.countQuestionsGroupedByTopic(List.of("1", "2"))
+                .collectList()
+                .block();
+
+        assertEquals(List.of(new TopicQuestionCount("1", 2)), counts);
+    }
+
+    @Test
+    void shouldSampleQuestionsOfTheTopicsLeavingOutExcludedIds() {
+        List<Question> sample = questionRepository.sampleQuestions(List.of("1"), List.of(question1.getId()), 5)
+                .collectList()
+                .block();
+
+        assertEquals(1, sample.size());
+        assertEquals(question2.getId(), sample.get(0).getId());
+    }
+
+    @Test
+    void shouldFindQuestionsByTopicAfterCursorInIdOrder() {
+        final String topicId = "1";
+        List<Question> firstPage = questionRepository.findQuestionsByTopicAfter(topicId, null, 1).collectList().block();
+
+        assertEquals(1, firstPage.size());
+        String cursor = firstPage.get(0).getId();
+        List<Question> secondPage = questionRepository.findQuestionsByTopicAfter(topicId, cursor, 10).collectList().block();
+
+        assertEquals(1, secondPage.size());
+        assertTrue(secondPage.get(0).getId().compareTo(cursor) > 0);
+    }
+
+    @Test
+    void shouldInsertQuestionsWithOneUnorderedBulkWrite() {
+        Question question3 = new Question("What is a JIT?", "Answer 3", List.of(new Topic("1", "Java", null)));
+        Map<Integer, String> writeErrors = questionRepository.insertUnordered(List.of(question3)).block();
+
+        assertEquals(Map.of(), writeErrors);
+        assertEquals(3L, questionRepository.getNrOfQuestionsByTopicId("1").block());
+        questionRepository.deleteAll(questionRepository.findQuestionsByTopic("1")).block();
+    }
+
+    @Test
+    void shouldUpdateContentAndReturnThePreviousQuestion() {
+        List<Topic> topics = List.of(new Topic("2", "Spring", null));
+        Question previous = questionRepository.findAndUpdateContent(question1.getId(), "What is a bean?", "A managed object", topics).block();
+
+        assertNotNull(previous);
+        assertEquals(question1.getQuestion(), previous.getQuestion());
+        Question updated = questionRepository.findById(question1.getId()).block();
+        assertEquals("What is a bean?", updated.getQuestion());
+        assertEquals(topics, updated.getTopics());
+    }
+
+    @Test
+    void shouldRemoveAndReturnTheQuestion() {
+        Question removed = questionRepository.findAndRemoveById(question2.getId()).block();
+
+        assertNotNull(removed);
+        assertEquals(question2.getQuestion(), removed.getQuestion());
+        assertNull(questionRepository.findById(question2.getId()).block());
     }
 
     @Test
     void shouldGetQuestionById() {
-        Question question = questionRepository.getQuestionById(question1.getId());
+        Question question = questionRepository.getQuestionById(question1.getId()).block();
 
         assertNotNull(question);
         assertEquals(question1.getQuestion(), question.getQuestion());
@@ -7,15 +7,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
 @DataMongoTest
+@ActiveProfiles("test")
 class TopicRepositoryTest {
     @Autowired
     private TopicRepository topicRepository;
@@ -25,24 +28,31 @@ class TopicRepositoryTest {
     public void setUp() {
         topic1 = new Topic(null, "Java", null);
         topic2 = new Topic(null, "Spring", null);
-        topicRepository.saveAll(List.of(topic1, topic2));
+        topicRepository.saveAll(List.of(topic1, topic2)).blockLast();
     }
 
     @AfterEach
     public void tearDown() {
-        topicRepository.delete(topic1);
-        topicRepository.delete(topic2);
+        topicRepository.delete(topic1).block();
+        topicRepository.delete(topic2).block();
     }
 
     @Test
     void whenTopicExists_thenReturnTrue() {
-        boolean exists = topicRepository.existsByNameIgnoreCase("java");
+        Boolean exists = topicRepository.existsByNameIgnoreCase("java").block();
         assertTrue(exists);
     }
 
     @Test
     void whenTopicDoesNotExist_thenReturnFalse() {
-        boolean exists = topicRepository.existsByNameIgnoreCase("Python");
+        Boolean exists = topicRepository.existsByNameIgnoreCase("Python").block();
         assertFalse(exists);
     }
+
+    @Test
+    void setNrOfQuestionsShouldOnlyOverwriteTheExpectedValue() {
+        assertTrue(topicRepository.setNrOfQuestions(topic1.getId(), null, 3).block());
+        assertFalse(topicRepository.setNrOfQuestions(topic1.getId(), 2, 5).block());
+        assertEquals(3, topicRepository.findById(topic1.getId()).block().getNrOfQuestions());
+    }
 }
@@ -0,0 +1,123 @@
+package com.example.questions.service;
+
+import com.example.questions.exception.InvalidInputException;
+import com.example.questions.model.DuplicateGroup;
+import com.example.questions.model.Question;
+import com.example.questions.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateDetectorTest {
+    @Mock
+    private QuestionRepository questionRepository;
+    private DuplicateDetector duplicateDetector;
+
+    @BeforeEach
+    void setUp() {
+        duplicateDetector = new DuplicateDetector(questionRepository, 0.8, true);
+        duplicateDetector.put("1", "What is the difference between an abstract class and an interface in Java?");
+        duplicateDetector.put("2", "How does the garbage collector reclaim unreachable objects?");
+    }
+
+    @Test
+    void shouldFindQuestionsDifferingOnlyInCaseAndPunctuation() {
+        assertEquals(Optional.of("1"),
+                duplicateDetector.findDuplicate("what is the difference between an abstract class and an interface in java", null));
+    }
+
+    @Test
+    void shouldNotFlagUnrelatedQuestions() {
+        assertEquals(Optional.empty(), duplicateDetector.findDuplicate("How are MongoDB indexes built in the background?", null));
+    }
+
+    @Test
+    void shouldRejectDuplicatesButNotTheQuestionBeingUpdated() {
+        String text = "What is the difference between an abstract class and an interface in Java?";
+
+        InvalidInputException exception = assertThrows(InvalidInputException.class, () -> duplicateDetector.check(text, null));
+        assertEquals("A similar question already exists", exception.getMessage());
+        assertDoesNotThrow(() -> duplicateDetector.check(text, "1"));
+    }
+
+    @Test
+    void checkAndPutShouldRecordAcceptedQuestionsOnly() throws InvalidInputException {
+        duplicateDetector.checkAndPut("How are MongoDB indexes built in the background?", "3");
+
+        assertThrows(InvalidInputException.class, () -> duplicateDetector.checkAndPut("How are MongoDB indexes built in the background", "4"));
+        assertEquals(Optional.of("3"), duplicateDetector.findDuplicate("How are MongoDB indexes built in the background", null));
+        assertEquals(Optional.empty(), duplicateDetector.findDuplicate("How are MongoDB indexes built in the background", "3"));
+    }
+
+    @Test
+    void cancellingAReservationShouldRestoreThePreviousText() throws InvalidInputException {
+        String previousText = "How does the garbage collector reclaim unreachable objects?";
+        duplicateDetector.checkAndPut("How are MongoDB indexes built in the background?", "2").cancel();
+        duplicateDetector.checkAndPut("How are MongoDB indexes built in the background?", "3").cancel();
+
+        assertEquals(Optional.of("2"), duplicateDetector.findDuplicate(previousText, null));
+        assertEquals(Optional.empty(), duplicateDetector.findDuplicate("How are MongoDB indexes built in the background?", null));
+    }
+
+    @Test
+    void shouldAcceptTheSameQuestionForAnotherLanguageWhenRejectionIsOff() throws InvalidInputException {
+        DuplicateDetector flaggingDetector = new DuplicateDetector(questionRepository, 0.8, false);
+        flaggingDetector.checkAndPut("What is an interface in Java?", "1");
+
+        assertEquals(Optional.of("1"), flaggingDetector.findDuplicate("What is an interface in C#?", null));
+        assertDoesNotThrow(() -> flaggingDetector.checkAndPut("What is an interface in C#?", "2"));
+        assertEquals(Optional.of("2"), flaggingDetector.findDuplicate("What is an interface in C#?", "1"));
+    }
+
+    @Test
+    void shouldOnlyLogDuplicatesWhenRejectionIsOff() {
+        DuplicateDetector flaggingDetector = new DuplicateDetector(questionRepository, 0.8, false);
+        flaggingDetector.put("1", "What is a JVM?");
+
+        assertDoesNotThrow(() -> flaggingDetector.check("What is a JVM", null));
+    }
+
+    @Test
+    void shouldForgetRemovedQuestions() {
+        duplicateDetector.remove("1");
+
+        assertEquals(Optional.empty(),
+                duplicateDetector.findDuplicate("What is the difference between an abstract class and an interface in Java?", null));
+    }
+
+    @Test
+    void shouldGroupNearDuplicates() {
+        duplicateDetector.put("3", "What is the difference between an abstract class and an interface in Java");
+        duplicateDetector.put("4", "what is the difference between an abstract class and an interface in java?!");
+
+        assertEquals(List.of(new DuplicateGroup(List.of("1", "3", "4"))), duplicateDetector.findDuplicateGroups());
+    }
+
+    @Test
+    void shouldRebuildTheSignaturesFromMongo() {
+        Question question = new Question("What is a JVM?", "A virtual machine", List.of());
+        question.setId("5");
+        when(questionRepository.findAll()).thenReturn(Flux.just(question));
+
+        StepVerifier.create(duplicateDetector.rebuild())
+                .expectNext(1L)
+                .verifyComplete();
+
+        assertTrue(duplicateDetector.findDuplicate("What is the difference between an abstract class and an interface in Java?", null).isEmpty());
+        assertEquals(Optional.of("5"), duplicateDetector.findDuplicate("what is a jvm", null));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.questions.service;
+
+import com.example.questions.config.execution.ServiceExecutor;
+import com.example.questions.config.metrics.QuestionMetrics;
+import com.example.questions.model.ImportResult;
+import com.example.questions.model.Question;
+import com.example.questions.model.Status;
+import com.example.questions.model.Topic;
+import com.example.questions.repository.QuestionRepository;
+import com.example.questions.repository.TopicRepository;
+import com.example.questions.validator.ValidationService;
+import com.example.questions.validator.ValidationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionImportServiceTest {
+    @Mock
+    private QuestionRepository questionRepository;
+    @Mock
+    private TopicRepository topicRepository;
+    @Spy
+    private ValidationService validationService = new ValidationServiceImpl();
+    @Mock
+    private QuestionMetrics questionMetrics;
+    @Mock
+    private QuestionSearchIndex questionSearchIndex;
+    @Mock
+    private DuplicateDetector duplicateDetector;
+    @Mock
+    private DataGeneration dataGeneration;
+    @Mock
+    private TopicQuestionsCache topicQuestionsCache;
+    @Spy
+    private ServiceExecutor serviceExecutor = new ServiceExecutor(Schedulers.immediate());
+    @InjectMocks
+    private QuestionImportServiceImpl importService;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+    }
+
+    @Test
+    void shouldImportValidQuestionsInChunksAndReportEveryQuestion() {
+        when(topicRepository.findAll()).thenReturn(Flux.just(new Topic("1", "Java", 7), new Topic("2", "Spring", 3)));
+        when(questionRepository.insertUnordered(anyList())).thenReturn(Mono.just(Map.of()));
+        when(topicRepository.incrementNrOfQuestions(Map.of("1", 1))).thenReturn(Mono.empty());
+        when(topicRepository.incrementNrOfQuestions(Map.of("1", 1, "2", 1))).thenReturn(Mono.empty());
+
+        Flux<Question> questions = Flux.just(
+                new Question("What is a JVM?", "A virtual machine", List.of(new Topic(null, "Java", null))),
+                new Question("What is Kotlin?", "A language", List.of(new Topic(null, "Kotlin", null))),
+                new Question("What is a JIT?", "A compiler", List.of(new Topic(null, "Java", null))),
+                new Question("What is a bean?", "A managed object", List.of(new Topic(null, "Spring", null)))
+        );
+
+        StepVerifier.create(importService.importQuestions(questions))
+                .assertNext(report -> {
+                    assertEquals(3, report.getImported());
+                    assertEquals(1, report.getFailed());
+                    assertEquals(List.of(0, 1, 2, 3), report.getResults().stream().map(ImportResult::getIndex).toList());
+                    assertEquals(Status.FAILED, report.getResults().get(1).getStatus());
+                    assertEquals("Invalid topic", report.getResults().get(1).getMessage());
+                    assertNotNull(report.getResults().get(0).getId());
+                })
+                .verifyComplete();
+
+        verify(topicRepository, times(1)).findAll();
+        verify(questionRepository, times(2)).insertUnordered(anyList());
+    }
+
+    @Test
+    void shouldReportBlankTextAndRejectedWritesWithoutCountingThem() {
+        when(topicRepository.findAll()).thenReturn(Flux.just(new Topic("1", "Java", 7)));
+        when(questionRepository.insertUnordered(anyList())).thenReturn(Mono.just(Map.of(0, "E11000 duplicate key error")));
+        when(topicRepository.incrementNrOfQuestions(Map.of())).thenReturn(Mono.empty());
+
+        Flux<Question> questions = Flux.just(
+                new Question("What is a JVM?", "A virtual machine", List.of(new Topic(null, "Java", null))),
+                new Question("What is a JIT?", " ", List.of(new Topic(null, "Java", null)))
+        );
+
+        StepVerifier.create(importService.importQuestions(questions))
+                .assertNext(report -> {
+                    assertEquals(0, report.getImported());
+                    assertEquals("E11000 duplicate key error", report.getResults().get(0).getMessage());
+                    assertEquals("Complete required fields: answer", report.getResults().get(1).getMessage());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotWriteChunksWithoutValidQuestions() {
+        when(topicRepository.findAll()).thenReturn(Flux.empty());
+
+        StepVerifier.create(importService.importQuestions(Flux.just(new Question("What is a JVM?", "A virtual machine", null))))
+                .assertNext(report -> assertEquals(1, report.getFailed()))
+                .verifyComplete();
+
+        verify(questionRepository, never()).insertUnordered(anyList());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Question;
+import com.example.questions.model.SearchHit;
+import com.example.questions.model.Topic;
+import com.example.questions.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionSearchIndexTest {
+    @Mock
+    private QuestionRepository questionRepository;
+    @InjectMocks
+    private QuestionSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex.put(question("1", "What is an index?", "A structure that speeds up queries.", "java"));
+        searchIndex.put(question("2", "How are indexes built?", "Indexing sorts the keys of every document.", "mongo"));
+        searchIndex.put(question("3", "What is garbage collection?", "Reclaiming memory no longer used.", "java"));
+    }
+
+    @Test
+    void shouldRankQuestionsByRelevanceAndMatchStemmedTerms() {
+        List<SearchHit> hits = searchIndex.search("indexing", null, 10);
+
+        assertEquals(List.of("2", "1"), hits.stream().map(hit -> hit.getQuestion().getId()).toList());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    void shouldOnlyReturnQuestionsOfTheRequestedTopic() {
+        List<SearchHit> hits = searchIndex.search("index", "java", 10);
+
+        assertEquals(List.of("1"), hits.stream().map(hit -> hit.getQuestion().getId()).toList());
+    }
+
+    @Test
+    void shouldReflectUpdatesAndDeletes() {
+        searchIndex.put(question("3", "What is a B-tree index?", "The structure behind most indexes.", "java"));
+        searchIndex.remove("1");
+
+        List<SearchHit> hits = searchIndex.search("index", "java", 10);
+
+        assertEquals(List.of("3"), hits.stream().map(hit -> hit.getQuestion().getId()).toList());
+        assertTrue(searchIndex.search("garbage", null, 10).isEmpty());
+    }
+
+    @Test
+    void shouldReplaceTheIndexWithTheQuestionsStoredInMongo() {
+        when(questionRepository.findAll()).thenReturn(Flux.just(question("4", "What is sharding?", "Splitting data across nodes.", "mongo")));
+
+        StepVerifier.create(searchIndex.rebuild())
+                .expectNext(1L)
+                .verifyComplete();
+
+        assertTrue(searchIndex.search("index", null, 10).isEmpty());
+        assertEquals(1, searchIndex.search("shard", null, 10).size());
+    }
+
+    @Test
+    void stemmingShouldMapInflectionsToTheSameTerm() {
+        assertEquals(TextAnalyzer.stem("index"), TextAnalyzer.stem("indexes"));
+        assertEquals(TextAnalyzer.stem("index"), TextAnalyzer.stem("indexing"));
+        assertEquals(TextAnalyzer.stem("query"), TextAnalyzer.stem("queries"));
+        assertEquals(TextAnalyzer.stem("file"), TextAnalyzer.stem("filing"));
+    }
+
+    private static Question question(String id, String text, String answer, String topicId) {
+        Question question = new Question(text, answer, List.of(new Topic(topicId, topicId, null)));
+        question.setId(id);
+        return question;
+    }
+}
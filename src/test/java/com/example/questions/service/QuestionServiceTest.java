@@ -1,36 +1,51 @@
 package com.example.questions.service;
 
+import com.example.questions.config.execution.ServiceExecutor;
+import com.example.questions.config.metrics.QuestionMetrics;
 import com.example.questions.exception.BlankTextException;
 import com.example.questions.exception.InvalidInputException;
+import com.example.questions.exception.QuestionNotFoundException;
 import com.example.questions.model.Question;
+import com.example.questions.model.SampleRequest;
+import com.example.questions.model.Status;
 import com.example.questions.model.Topic;
+import com.example.questions.model.TopicQuestionCount;
 import com.example.questions.repository.QuestionRepository;
 import com.example.questions.repository.TopicRepository;
 import com.example.questions.validator.ValidationService;
+import com.example.questions.validator.ValidationServiceImpl;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
 
-import java.util.Collections;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.anyIterable;
+import static org.mockito.Mockito.anyCollection;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.eq;
 
 @ExtendWith(MockitoExtension.class)
 class QuestionServiceTest {
@@ -39,7 +54,23 @@ class QuestionServiceTest {
     @Mock
     private TopicRepository topicRepository;
     @Mock
-    private ValidationService validationService;
+    private TopicCatalog topicCatalog;
+    @Spy
+    private ValidationService validationService = new ValidationServiceImpl();
+    @Mock
+    private QuestionMetrics questionMetrics;
+    @Mock
+    private QuestionSearchIndex questionSearchIndex;
+    @Mock
+    private DuplicateDetector duplicateDetector;
+    @Mock
+    private DuplicateDetector.Reservation reservation;
+    @Mock
+    private DataGeneration dataGeneration;
+    @Mock
+    private TopicQuestionsCache topicQuestionsCache;
+    @Spy
+    private ServiceExecutor serviceExecutor = new ServiceExecutor(Schedulers.immediate());
     @InjectMocks
     private QuestionServiceImpl questionService;
     private Question question;
@@ -58,173 +89,336 @@ class QuestionServiceTest {
     }
 
     @Test
-    void shouldCreateQuestion() throws Exception {
-        when(topicRepository.findAll()).thenReturn(List.of(topic));
-        when(topicRepository.findByName("Java")).thenReturn(Optional.of(topic));
-        when(questionRepository.insert(any(Question.class))).thenReturn(question);
+    void shouldCreateQuestion() {
+        when(topicCatalog.findByName("Java")).thenReturn(Mono.just(topic));
+        when(questionRepository.insert(any(Question.class))).thenReturn(Mono.just(question));
+        when(topicRepository.incrementNrOfQuestions(Set.of("1"), 1)).thenReturn(Mono.empty());
+
+        StepVerifier.create(questionService.createQuestion(question))
+                .assertNext(createdQuestion -> {
+                    assertEquals(question.getQuestion(), createdQuestion.getQuestion());
+                    assertEquals(question.getAnswer(), createdQuestion.getAnswer());
+                })
+                .verifyComplete();
+
+        verify(topicCatalog, times(1)).findByName("Java");
+        verify(questionRepository, times(1)).insert(argThat((Question inserted) -> inserted.getTopics().equals(List.of(new Topic("1", "Java", null)))));
+        verify(topicRepository, times(1)).incrementNrOfQuestions(Set.of("1"), 1);
+    }
+
+    @Test
+    void testCreateQuestionThrowsInvalidInputExceptionWhenTopicCatalogFindByNameNotFoundAnything() {
+        lenient().when(topicCatalog.findByName("Java")).thenReturn(Mono.empty());
+
+        StepVerifier.create(questionService.createQuestion(new Question("How does Spring work?", "Spring is a Java framework...", List.of(topic))))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(InvalidInputException.class, e.getClass());
+                    assertEquals("Invalid topic", e.getMessage());
+                })
+                .verify();
+    }
 
-        Question createdQuestion = questionService.createQuestion(question);
+    @Test
+    void shouldGetQuestionsByTopicId() {
+        when(topicCatalog.findById("1")).thenReturn(Mono.just(new Topic("1", "ValidTopic", null)));
+        when(questionRepository.findQuestionsByTopic("1")).thenReturn(Flux.just(question));
+        when(topicRepository.findAllById(anyIterable())).thenReturn(Flux.just(topic));
 
-        assertNotNull(createdQuestion);
-        assertEquals(question.getQuestion(), createdQuestion.getQuestion());
-        assertEquals(question.getAnswer(), createdQuestion.getAnswer());
+        StepVerifier.create(questionService.getQuestionsByTopicId("1", true))
+                .expectNext(question)
+                .verifyComplete();
 
-        verify(topicRepository, times(1)).findAll();
-        verify(questionRepository, times(1)).insert(any(Question.class));
+        verify(questionRepository, times(1)).findQuestionsByTopic("1");
     }
 
     @Test
-    void testCreateQuestionThrowsRuntimeExceptionWhenCatchingInvalidInputExceptionThrownByTopicRepositoryFindByNameWhenNotFoundAnything() {
-        lenient().when(questionRepository.findById("1")).thenReturn(Optional.of(question));
-        lenient().when(topicRepository.findByName("Java")).thenReturn(Optional.empty());
-        lenient().when(topicRepository.findAll()).thenReturn(Collections.singletonList(topic));
-
-        assertThrows(Exception.class, () -> {
-            questionService.createQuestion(new Question("How does Spring work?", "Spring is a Java framework...", List.of(topic)));
-        }, "InvalidInputException should be thrown for invalid topic");
+    void getQuestionsByTopicIdShouldResolveSharedTopicsWithOneLookup() {
+        Question first = new Question("What is a JVM?", "A virtual machine", List.of(new Topic("1", "Java", null)));
+        Question second = new Question("What is a JIT?", "A compiler", List.of(new Topic("1", "Java", null), new Topic("2", "JVM", null)));
+        when(topicCatalog.findById("1")).thenReturn(Mono.just(topic));
+        when(questionRepository.findQuestionsByTopic("1")).thenReturn(Flux.just(first, second));
+        when(topicRepository.findAllById(Set.of("1", "2"))).thenReturn(Flux.just(new Topic("1", "Java", 10), new Topic("2", "JVM", 3)));
+
+        StepVerifier.create(questionService.getQuestionsByTopicId("1", true))
+                .assertNext(result -> assertEquals(List.of(new Topic("1", "Java", 10)), result.getTopics()))
+                .assertNext(result -> assertEquals(List.of(new Topic("1", "Java", 10), new Topic("2", "JVM", 3)), result.getTopics()))
+                .verifyComplete();
+
+        verify(topicRepository, times(1)).findAllById(Set.of("1", "2"));
     }
 
     @Test
-    void shouldGetQuestionsByTopicId() throws Exception {
-        when(topicRepository.findById("1")).thenReturn(Optional.of(new Topic("1", "ValidTopic", null)));
-        when(questionRepository.findQuestionsByTopic("1")).thenReturn(Collections.singletonList(question));
+    void getQuestionsByTopicIdShouldServeEmbeddedTopicsWithoutLookups() {
+        Question embedded = new Question("What is a JVM?", "A virtual machine", List.of(new Topic("1", "Java", null)));
+        when(topicCatalog.findById("1")).thenReturn(Mono.just(topic));
+        when(questionRepository.findQuestionsByTopic("1")).thenReturn(Flux.just(embedded));
 
-        List<Question> result = questionService.getQuestionsByTopicId("1");
+        StepVerifier.create(questionService.getQuestionsByTopicId("1", false))
+                .assertNext(result -> assertEquals(List.of(new Topic("1", "Java", null)), result.getTopics()))
+                .verifyComplete();
 
-        assertEquals(Collections.singletonList(question), result);
-        verify(questionRepository, times(1)).findQuestionsByTopic("1");
+        verify(topicRepository, never()).findAllById(anyIterable());
     }
 
     @Test
     void shouldThrowInvalidInputExceptionWhenGetQuestionsByTopicId() {
-        when(topicRepository.findById("1")).thenReturn(Optional.empty());
-
-        try {
-            questionService.getQuestionsByTopicId("1");
-        } catch (Exception e) {
-            assertEquals("Invalid topic", e.getMessage());
-        }
+        when(topicCatalog.findById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(questionService.getQuestionsByTopicId("1", true))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(InvalidInputException.class, e.getClass());
+                    assertEquals("Invalid topic", e.getMessage());
+                })
+                .verify();
     }
 
     @Test
     void shouldThrowExceptionWhenGetQuestionsByTopicId() {
-        when(topicRepository.findById("1")).thenReturn(Optional.of(new Topic("1", "ValidTopic", null)));
-        when(questionRepository.findQuestionsByTopic("1")).thenThrow(new RuntimeException("Error"));
+        when(topicCatalog.findById("1")).thenReturn(Mono.just(new Topic("1", "ValidTopic", null)));
+        when(questionRepository.findQuestionsByTopic("1")).thenReturn(Flux.error(new RuntimeException("Error")));
 
-        try {
-            questionService.getQuestionsByTopicId("1");
-        } catch (Exception e) {
-            assertEquals("Error", e.getMessage());
-        }
+        StepVerifier.create(questionService.getQuestionsByTopicId("1", true))
+                .expectErrorMessage("Error")
+                .verify();
+    }
+
+    @Test
+    void getQuestionsPageByTopicIdShouldReturnCursorOfLastQuestionWhenMoreQuestionsExist() {
+        Question first = questionWithId("65f000000000000000000001");
+        Question second = questionWithId("65f000000000000000000002");
+        Question third = questionWithId("65f000000000000000000003");
+        when(topicCatalog.findById("1")).thenReturn(Mono.just(topic));
+        when(questionRepository.findQuestionsByTopicAfter("1", null, 3)).thenReturn(Flux.just(first, second, third));
+
+        StepVerifier.create(questionService.getQuestionsPageByTopicId("1", null, 2, false))
+                .assertNext(page -> {
+                    assertEquals(List.of(first, second), page.getQuestions());
+                    assertEquals("65f000000000000000000002", page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getQuestionsPageByTopicIdShouldNotReturnCursorOnLastPage() {
+        Question last = questionWithId("65f000000000000000000003");
+        when(topicCatalog.findById("1")).thenReturn(Mono.just(topic));
+        when(questionRepository.findQuestionsByTopicAfter("1", "65f000000000000000000002", 3)).thenReturn(Flux.just(last));
+        when(topicRepository.findAllById(Set.of("1"))).thenReturn(Flux.just(new Topic("1", "Java", 10)));
+
+        StepVerifier.create(questionService.getQuestionsPageByTopicId("1", "65f000000000000000000002", 2, true))
+                .assertNext(page -> {
+                    assertEquals(List.of(last), page.getQuestions());
+                    assertEquals(List.of(new Topic("1", "Java", 10)), page.getQuestions().get(0).getTopics());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getQuestionsPageByTopicIdShouldRejectInvalidCursorAndLimit() {
+        StepVerifier.create(questionService.getQuestionsPageByTopicId("1", "not-a-cursor", 2, false))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(InvalidInputException.class, e.getClass());
+                    assertEquals("Invalid cursor", e.getMessage());
+                })
+                .verify();
+        StepVerifier.create(questionService.getQuestionsPageByTopicId("1", null, QuestionServiceImpl.MAX_PAGE_SIZE + 1, false))
+                .expectError(InvalidInputException.class)
+                .verify();
+
+        verify(questionRepository, never()).findQuestionsByTopicAfter(anyString(), any(), anyInt());
     }
 
     @Test
     void shouldCountQuestionsByTopicId() {
-        when(questionRepository.getNrOfQuestionsByTopicId("1")).thenReturn(10);
+        when(questionRepository.getNrOfQuestionsByTopicId("1")).thenReturn(Mono.just(10L));
 
-        int result = questionService.countQuestionsByTopic("1");
+        StepVerifier.create(questionService.countQuestionsByTopic("1"))
+                .expectNext(10)
+                .verifyComplete();
 
-        assertEquals(10, result);
         verify(questionRepository, times(1)).getNrOfQuestionsByTopicId("1");
     }
 
     @Test
-    void shouldDeleteQuestion() {
-        when(questionRepository.findById("1")).thenReturn(Optional.of(question));
+    void shouldCountQuestionsByTopicsWithOneAggregation() {
+        when(questionRepository.countQuestionsGroupedByTopic(List.of("1", "2")))
+                .thenReturn(Flux.just(new TopicQuestionCount("1", 10), new TopicQuestionCount("2", 3)));
 
-        questionService.deleteQuestion("1");
+        StepVerifier.create(questionService.countQuestionsByTopics(List.of("1", "2")))
+                .expectNext(Map.of("1", 10, "2", 3))
+                .verifyComplete();
 
-        verify(questionRepository, times(1)).deleteById("1");
+        verify(questionRepository, times(1)).countQuestionsGroupedByTopic(List.of("1", "2"));
     }
 
     @Test
-    void shouldNotDeleteQuestionWhenQuestionNotFound() {
-        when(questionRepository.findById("1")).thenReturn(Optional.empty());
+    void shouldDeleteQuestion() {
+        when(questionRepository.findAndRemoveById("1")).thenReturn(Mono.just(question));
+        when(topicRepository.incrementNrOfQuestions(Set.of("1"), -1)).thenReturn(Mono.empty());
+
+        StepVerifier.create(questionService.deleteQuestion("1"))
+                .assertNext(responseData -> assertEquals(Status.SUCCESS, responseData.getStatus()))
+                .verifyComplete();
 
-        try {
-            questionService.deleteQuestion("1");
-        } catch (Exception e) {
-            assertEquals("Question could not be found", e.getMessage());
-        }
+        verify(questionRepository, times(1)).findAndRemoveById("1");
+        verify(questionRepository, never()).findById("1");
+        verify(topicRepository, times(1)).incrementNrOfQuestions(Set.of("1"), -1);
+        verify(topicQuestionsCache).invalidate(Set.of("1"));
     }
 
     @Test
-    void shouldUpdateQuestionWhenAllInputFieldsAreValid() throws Exception {
-        when(questionRepository.findById("1")).thenReturn(Optional.of(question));
-        when(topicRepository.findByName("Java")).thenReturn(Optional.of(topic));
-        when(questionRepository.getQuestionById("1")).thenReturn(question);
-
-        when(topicRepository.findAll()).thenReturn(Collections.singletonList(topic));
-        doNothing().when(validationService).isValidText("How does Spring work?");
-        doNothing().when(validationService).isValidText("Spring is a Java framework...");
-        when(questionRepository.save(any(Question.class))).thenReturn(question);
+    void shouldNotDeleteQuestionWhenQuestionNotFound() {
+        when(questionRepository.findAndRemoveById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(questionService.deleteQuestion("1"))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(QuestionNotFoundException.class, e.getClass());
+                    assertEquals("Question could not be found", e.getMessage());
+                })
+                .verify();
+    }
 
-        questionService.updateQuestion("1", "How does Spring work?", "Spring is a Java framework...", List.of(topic));
+    @Test
+    void shouldUpdateQuestionWhenAllInputFieldsAreValid() {
+        List<Topic> snapshots = List.of(new Topic("1", "Java", null));
+        question.setId("1");
+        when(topicCatalog.findByName("Java")).thenReturn(Mono.just(topic));
+        when(questionRepository.findAndUpdateContent("1", "How does Spring work?", "Spring is a Java framework...", snapshots))
+                .thenReturn(Mono.just(question));
+
+        StepVerifier.create(questionService.updateQuestion("1", "How does Spring work?", "Spring is a Java framework...", List.of(topic)))
+                .assertNext(updatedQuestion -> {
+                    assertEquals("1", updatedQuestion.getId());
+                    assertEquals("How does Spring work?", updatedQuestion.getQuestion());
+                    assertEquals(snapshots, updatedQuestion.getTopics());
+                })
+                .verifyComplete();
+
+        verify(questionRepository, never()).findById("1");
+        verify(questionRepository, never()).save(any(Question.class));
+        verify(topicRepository, never()).incrementNrOfQuestions(anyCollection(), anyInt());
+    }
 
-        verify(questionRepository, times(1)).save(question);
+    @Test
+    void updateQuestionShouldMoveTopicCountersWhenTopicsChange() {
+        Topic spring = new Topic("2", "Spring", 4);
+        when(topicCatalog.findByName("Spring")).thenReturn(Mono.just(spring));
+        when(questionRepository.findAndUpdateContent("1", "What is Spring?", "A framework", List.of(new Topic("2", "Spring", null))))
+                .thenReturn(Mono.just(question));
+        when(topicRepository.incrementNrOfQuestions(Set.of("2"), 1)).thenReturn(Mono.empty());
+        when(topicRepository.incrementNrOfQuestions(Set.of("1"), -1)).thenReturn(Mono.empty());
+
+        StepVerifier.create(questionService.updateQuestion("1", "What is Spring?", "A framework", List.of(new Topic(null, "Spring", null))))
+                .assertNext(updatedQuestion -> assertEquals("What is Spring?", updatedQuestion.getQuestion()))
+                .verifyComplete();
+
+        verify(topicRepository, times(1)).incrementNrOfQuestions(Set.of("2"), 1);
+        verify(topicRepository, times(1)).incrementNrOfQuestions(Set.of("1"), -1);
     }
 
     @Test
-    void testUpdateQuestion_ThrowsRuntimeExceptionForInvalidTopic() {
-        when(questionRepository.findById("1")).thenReturn(Optional.of(question));
-        when(topicRepository.findByName("Java")).thenReturn(Optional.empty());
-        when(topicRepository.findAll()).thenReturn(Collections.singletonList(topic));
+    void testUpdateQuestion_ThrowsInvalidInputExceptionForInvalidTopic() {
+        when(topicCatalog.findByName("Java")).thenReturn(Mono.empty());
 
-        assertThrows(RuntimeException.class, () -> {
-            questionService.updateQuestion("1", "How does Spring work?", "Spring is a Java framework...", List.of(topic));
-        }, "InvalidInputException should be thrown for invalid topic");
+        StepVerifier.create(questionService.updateQuestion("1", "How does Spring work?", "Spring is a Java framework...", List.of(topic)))
+                .expectError(InvalidInputException.class)
+                .verify();
     }
 
 
     @Test
     void shouldGetQuestionById() {
-        when(questionRepository.findById("1")).thenReturn(Optional.of(question));
+        Question storedQuestion = new Question(question.getQuestion(), question.getAnswer(), List.of(new Topic("1", "Java", null)));
+        when(questionRepository.findById("1")).thenReturn(Mono.just(storedQuestion));
 
-        Optional<Question> result = questionService.getQuestionById("1");
+        StepVerifier.create(questionService.getQuestionById("1"))
+                .assertNext(result -> assertEquals(List.of(new Topic("1", "Java", null)), result.getTopics()))
+                .verifyComplete();
 
-        assertEquals(Optional.of(question), result);
         verify(questionRepository, times(1)).findById("1");
     }
 
     @Test
-    void updateQuestionShouldThrowInvalidInputExceptionWhenQuestionIsNotFound() {
-        when(questionRepository.findById("1")).thenReturn(Optional.empty());
-        when(topicRepository.findAll()).thenReturn(Collections.singletonList(topic));
+    void getQuestionByIdShouldThrowQuestionNotFoundExceptionWhenQuestionIsNotFound() {
+        when(questionRepository.findById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(questionService.getQuestionById("1"))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(QuestionNotFoundException.class, e.getClass());
+                    assertEquals("Question could not be found", e.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    void updateQuestionShouldThrowQuestionNotFoundExceptionWhenQuestionIsNotFound() throws InvalidInputException {
+        when(topicCatalog.findByName("Java")).thenReturn(Mono.just(topic));
+        when(duplicateDetector.checkAndPut("How does Spring work?", "1")).thenReturn(reservation);
+        when(questionRepository.findAndUpdateContent("1", "How does Spring work?", "Spring is a Java framework...", List.of(new Topic("1", "Java", null))))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(questionService.updateQuestion("1", "How does Spring work?", "Spring is a Java framework...", List.of(topic)))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(QuestionNotFoundException.class, e.getClass());
+                    assertEquals("Question could not be found", e.getMessage());
+                })
+                .verify();
+        verify(duplicateDetector).remove("1");
+    }
 
-        try {
-            questionService.updateQuestion("1", "How does Spring work?", "Spring is a Java framework...", List.of(topic));
-        } catch (Exception e) {
-            assertEquals("Question could not be found", e.getMessage());
-        }
+    @Test
+    void updateQuestionShouldRestoreThePreviousDuplicateSignatureWhenTheWriteFails() throws InvalidInputException {
+        when(topicCatalog.findByName("Java")).thenReturn(Mono.just(topic));
+        when(duplicateDetector.checkAndPut("How does Spring work?", "1")).thenReturn(reservation);
+        when(questionRepository.findAndUpdateContent("1", "How does Spring work?", "Spring is a Java framework...", List.of(new Topic("1", "Java", null))))
+                .thenReturn(Mono.error(new RuntimeException("Unexpected error")));
+
+        StepVerifier.create(questionService.updateQuestion("1", "How does Spring work?", "Spring is a Java framework...", List.of(topic)))
+                .expectErrorMessage("Unexpected error")
+                .verify();
+        verify(reservation).cancel();
+        verify(duplicateDetector, never()).remove(anyString());
     }
 
     @Test
-    void createQuestionShouldThrowBlankTextExceptionForBlankQuestion() throws BlankTextException {
+    void createQuestionShouldThrowBlankTextExceptionForBlankQuestion() {
         String blankQuestion = " ";
         String validAnswer = "Spring is a powerful framework.";
         List<Topic> validTopics = List.of(new Topic("1", "Java", 10));
 
-        when(topicRepository.findAll()).thenReturn(validTopics);
-        doThrow(new BlankTextException("Question text cannot be blank"))
-                .when(validationService).isValidText(blankQuestion);
-        doNothing().when(validationService).isValidText(validAnswer);
+        when(topicCatalog.findByName("Java")).thenReturn(Mono.just(topic));
 
-        assertThrows(BlankTextException.class, () -> {
-            questionService.createQuestion(new Question(blankQuestion, validAnswer, validTopics));
-        }, "BlankTextException should be thrown for blank question text");
+        StepVerifier.create(questionService.createQuestion(new Question(blankQuestion, validAnswer, validTopics)))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(BlankTextException.class, e.getClass());
+                    assertEquals("Complete required fields: question", e.getMessage());
+                })
+                .verify();
+
+        verify(questionRepository, never()).insert(any(Question.class));
+    }
+
+    @Test
+    void createQuestionShouldReportEveryBlankField() {
+        when(topicCatalog.findByName("Java")).thenReturn(Mono.just(topic));
+
+        StepVerifier.create(questionService.createQuestion(new Question("null", " ", List.of(topic))))
+                .expectErrorMessage("Complete required fields: question, answer")
+                .verify();
     }
 
     @Test
-    void createQuestionShouldThrowInvalidInputExceptionForInvalidTopics() throws Exception {
+    void createQuestionShouldThrowInvalidInputExceptionForInvalidTopics() {
         String validQuestion = "How does Spring work?";
         String validAnswer = "Spring is a Java framework...";
         List<Topic> invalidTopics = List.of(new Topic("invalidId", "NonExistingTopic", 0));
 
-        when(topicRepository.findAll()).thenReturn(Collections.emptyList());
+        when(topicCatalog.findByName("NonExistingTopic")).thenReturn(Mono.empty());
 
-        assertThrows(InvalidInputException.class, () -> {
-            questionService.createQuestion(new Question(validQuestion, validAnswer, invalidTopics));
-        }, "InvalidInputException should be thrown for invalid topics");
+        StepVerifier.create(questionService.createQuestion(new Question(validQuestion, validAnswer, invalidTopics)))
+                .expectError(InvalidInputException.class)
+                .verify();
     }
 
     @Test
@@ -233,26 +427,95 @@ class QuestionServiceTest {
         String validAnswer = "Spring is a Java framework...";
         List<Topic> topicsWithNull = Arrays.asList(new Topic("1", "Java", 10), null);
 
-        when(topicRepository.findAll()).thenReturn(Collections.singletonList(new Topic("1", "Java", 10)));
-
-        assertThrows(InvalidInputException.class, () -> {
-            questionService.createQuestion(new Question(validQuestion, validAnswer, topicsWithNull));
-        }, "InvalidInputException should be thrown for null topic");
+        StepVerifier.create(questionService.createQuestion(new Question(validQuestion, validAnswer, topicsWithNull)))
+                .expectError(InvalidInputException.class)
+                .verify();
     }
 
     @Test
-    void createQuestionShouldThrowGenericExceptionForUnexpectedErrors() {
+    void createQuestionShouldThrowGenericExceptionForUnexpectedErrors() throws InvalidInputException {
         Topic topic = new Topic("1", "Java", 10);
         Question question = new Question("Valid question?", "Yes", List.of(topic));
 
-        lenient().when(topicRepository.findByName("Java")).thenReturn(Optional.of(topic));
-        lenient().when(topicRepository.findAll()).thenReturn(List.of(topic));
-        lenient().when(topicRepository.findById(anyString())).thenReturn(Optional.of(topic));
-        when(questionRepository.insert(any(Question.class))).thenThrow(new RuntimeException("Unexpected error"));
+        lenient().when(topicCatalog.findByName("Java")).thenReturn(Mono.just(topic));
+        lenient().when(topicCatalog.findById(anyString())).thenReturn(Mono.just(topic));
+        when(duplicateDetector.checkAndPut(eq("Valid question?"), anyString())).thenReturn(reservation);
+        when(questionRepository.insert(any(Question.class))).thenReturn(Mono.error(new RuntimeException("Unexpected error")));
+
+        StepVerifier.create(questionService.createQuestion(question))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(Exception.class, e.getClass());
+                    assertEquals("Unexpected error", e.getMessage(), "The exception message should match the one from the unexpected error");
+                })
+                .verify();
+        verify(reservation).cancel();
+    }
 
-        Exception exception = assertThrows(Exception.class, () -> questionService.createQuestion(question),
-                "Expected to catch and rethrow a generic Exception for unexpected errors");
+    private Question questionWithId(String id) {
+        Question questionWithId = new Question("Question " + id, "Answer", List.of(new Topic("1", null, null)));
+        questionWithId.setId(id);
+        return questionWithId;
+    }
 
-        assertEquals("Unexpected error", exception.getMessage(), "The exception message should match the one from the unexpected error");
+    @Test
+    void searchQuestionsShouldRejectBlankQueries() {
+        StepVerifier.create(questionService.searchQuestions(" ", null, 20))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(InvalidInputException.class, e.getClass());
+                    assertEquals("Please provide a search query", e.getMessage());
+                })
+                .verify();
+
+        verify(questionSearchIndex, never()).search(" ", null, 20);
+    }
+
+    @Test
+    void sampleQuestionsShouldSplitTheSizeByWeight() {
+        Question java1 = questionWithId("1");
+        Question java2 = questionWithId("2");
+        Question java3 = questionWithId("3");
+        Question spring = questionWithId("4");
+
+        when(topicCatalog.findById("1")).thenReturn(Mono.just(topic));
+        when(topicCatalog.findById("2")).thenReturn(Mono.just(new Topic("2", "Spring", null)));
+        when(questionRepository.sampleQuestions(List.of("1"), Set.of(), 3)).thenReturn(Flux.just(java1, java2, java3));
+        when(questionRepository.sampleQuestions(List.of("2"), Set.of(), 1)).thenReturn(Flux.just(spring));
+
+        StepVerifier.create(questionService.sampleQuestions(new SampleRequest(List.of("1", "2"), Map.of("1", 3.0), null, 4)))
+                .assertNext(result -> assertEquals(Set.of(java1, java2, java3, spring), Set.copyOf(result)))
+                .verifyComplete();
+    }
+
+    @Test
+    void sampleQuestionsShouldTopUpWhenATopicRunsShort() {
+        Question question1 = questionWithId("1");
+        Question question2 = questionWithId("2");
+
+        when(topicCatalog.findById("1")).thenReturn(Mono.just(topic));
+        when(questionRepository.sampleQuestions(List.of("1"), Set.of("9"), 3)).thenReturn(Flux.just(question1));
+        when(questionRepository.sampleQuestions(List.of("1"), Set.of("1", "9"), 2)).thenReturn(Flux.just(question2));
+
+        StepVerifier.create(questionService.sampleQuestions(new SampleRequest(List.of("1"), null, List.of("9"), 3)))
+                .assertNext(result -> assertEquals(Set.of(question1, question2), Set.copyOf(result)))
+                .verifyComplete();
+    }
+
+    @Test
+    void sampleQuestionsShouldRejectNegativeWeights() {
+        StepVerifier.create(questionService.sampleQuestions(new SampleRequest(List.of("1"), Map.of("1", -1.0), null, 5)))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(InvalidInputException.class, e.getClass());
+                    assertEquals("The weights must not be negative and at least one must be positive", e.getMessage());
+                })
+                .verify();
+
+        verify(questionRepository, never()).sampleQuestions(anyCollection(), anyCollection(), anyInt());
+    }
+
+    @Test
+    void sampleQuestionsShouldRejectSizeAboveTheMaximum() {
+        StepVerifier.create(questionService.sampleQuestions(new SampleRequest(List.of("1"), null, null, 101)))
+                .expectErrorMessage("The size must be between 1 and 100")
+                .verify();
     }
 }
@@ -0,0 +1,76 @@
+package com.example.questions.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestCoalescerTest {
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentCallsWithTheSameKeyShouldShareOneLoad() {
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(Duration.ofSeconds(5));
+        Sinks.One<String> result = Sinks.one();
+
+        StepVerifier.create(Mono.zip(
+                        coalescer.coalesce("java", () -> load(result)),
+                        coalescer.coalesce("java", () -> load(result)),
+                        coalescer.coalesce("java", () -> load(result))))
+                .then(() -> result.tryEmitValue("questions"))
+                .assertNext(values -> assertEquals("questions", values.getT3()))
+                .verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    void callsAfterTheLoadCompletedShouldLoadAgain() {
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(Duration.ofSeconds(5));
+
+        coalescer.coalesce("java", () -> load(Mono.just("first"))).block();
+        StepVerifier.create(coalescer.coalesce("java", () -> load(Mono.just("second"))))
+                .expectNext("second")
+                .verifyComplete();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void failedLoadsShouldFailEveryWaiterAndNotBeKept() {
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(Duration.ofSeconds(5));
+
+        StepVerifier.create(coalescer.coalesce("java", () -> load(Mono.error(new IllegalStateException("Mongo is down")))))
+                .expectErrorMessage("Mongo is down")
+                .verify();
+
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    void waitersShouldRunTheirOwnLoadAfterTheMaximumWait() {
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(Duration.ofMillis(50));
+        coalescer.coalesce("java", () -> load(Mono.never())).subscribe();
+
+        StepVerifier.create(coalescer.coalesce("java", () -> load(Mono.just("own"))))
+                .expectNext("own")
+                .verifyComplete();
+
+        assertEquals(2, loads.get());
+    }
+
+    private Mono<String> load(Sinks.One<String> result) {
+        return load(result.asMono());
+    }
+
+    private Mono<String> load(Mono<String> result) {
+        loads.incrementAndGet();
+        return result;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Topic;
+import com.example.questions.repository.TopicRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TopicCatalogTest {
+    @Mock
+    private TopicRepository topicRepository;
+    @InjectMocks
+    private TopicCatalog topicCatalog;
+
+    @Test
+    void shouldServeLookupsFromOneSnapshotWithoutCounts() {
+        when(topicRepository.findAll()).thenReturn(Flux.just(new Topic("1", "Java", 10), new Topic("2", "Spring", 3)));
+
+        StepVerifier.create(topicCatalog.findByName("Java"))
+                .expectNext(new Topic("1", "Java", null))
+                .verifyComplete();
+        StepVerifier.create(topicCatalog.findById("2"))
+                .expectNext(new Topic("2", "Spring", null))
+                .verifyComplete();
+        StepVerifier.create(topicCatalog.existsByNameIgnoreCase("sPrInG"))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(topicRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldFallBackToMongoAndRememberTopicsMissingFromTheSnapshot() {
+        when(topicRepository.findAll()).thenReturn(Flux.just(new Topic("1", "Java", 10)));
+        when(topicRepository.findAllById(List.of("2"))).thenReturn(Flux.just(new Topic("2", "Spring", 3)));
+
+        StepVerifier.create(topicCatalog.findAllById(List.of("1", "2")))
+                .expectNext(new Topic("1", "Java", null), new Topic("2", "Spring", null))
+                .verifyComplete();
+        StepVerifier.create(topicCatalog.findByName("Spring"))
+                .expectNext(new Topic("2", "Spring", null))
+                .verifyComplete();
+
+        verify(topicRepository, never()).findByName("Spring");
+    }
+
+    @Test
+    void putShouldMakeNewTopicsVisibleWithoutReloading() {
+        when(topicRepository.findAll()).thenReturn(Flux.empty());
+        StepVerifier.create(topicCatalog.refresh()).verifyComplete();
+
+        topicCatalog.put(new Topic("3", "Docker", 0));
+
+        StepVerifier.create(topicCatalog.findById("3"))
+                .expectNext(new Topic("3", "Docker", null))
+                .verifyComplete();
+        verify(topicRepository, never()).findById("3");
+    }
+
+    @Test
+    void unknownNamesShouldResolveToEmpty() {
+        when(topicRepository.findAll()).thenReturn(Flux.empty());
+        when(topicRepository.findByName("Cobol")).thenReturn(Mono.empty());
+
+        StepVerifier.create(topicCatalog.findByName("Cobol")).verifyComplete();
+        StepVerifier.create(topicCatalog.findByName("Cobol")).verifyComplete();
+
+        verify(topicRepository, times(1)).findByName("Cobol");
+    }
+
+    @Test
+    void putShouldDropTheOldNameOfARenamedTopic() {
+        when(topicRepository.findAll()).thenReturn(Flux.just(new Topic("1", "Java", 10)));
+        when(topicRepository.findByName("Java")).thenReturn(Mono.empty());
+        StepVerifier.create(topicCatalog.refresh()).verifyComplete();
+
+        topicCatalog.put(new Topic("1", "Kotlin", 10));
+
+        StepVerifier.create(topicCatalog.findByName("Kotlin"))
+                .expectNext(new Topic("1", "Kotlin", null))
+                .verifyComplete();
+        StepVerifier.create(topicCatalog.findByName("Java")).verifyComplete();
+        StepVerifier.create(topicCatalog.existsByNameIgnoreCase("java"))
+                .expectNext(false)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Topic;
+import com.example.questions.service.TopicListingCache.TopicListing;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TopicListingCacheTest {
+    @Mock
+    private TopicService topicService;
+    private DataGeneration dataGeneration;
+
+    @BeforeEach
+    void setUp() {
+        dataGeneration = new DataGeneration();
+    }
+
+    @Test
+    void shouldServeTheSameListingUntilTheGenerationAdvances() {
+        TopicListingCache cache = new TopicListingCache(topicService, dataGeneration, new ObjectMapper(), Duration.ofHours(1), Duration.ofSeconds(1));
+        when(topicService.findAll())
+                .thenReturn(Flux.just(new Topic("1", "Java", 2)))
+                .thenReturn(Flux.just(new Topic("1", "Java", 3)));
+
+        TopicListing first = cache.get().block();
+        assertSame(first, cache.get().block());
+        assertEquals("[{\"id\":\"1\",\"name\":\"Java\",\"nrOfQuestions\":2}]", new String(first.body()));
+
+        dataGeneration.advance();
+        TopicListing second = cache.get().block();
+
+        assertNotEquals(first.eTag(), second.eTag());
+        assertEquals("[{\"id\":\"1\",\"name\":\"Java\",\"nrOfQuestions\":3}]", new String(second.body()));
+        verify(topicService, times(2)).findAll();
+    }
+
+    @Test
+    void shouldAdvanceTheGenerationWhenAnExpiredListingChangedElsewhere() {
+        TopicListingCache cache = new TopicListingCache(topicService, dataGeneration, new ObjectMapper(), Duration.ZERO, Duration.ofSeconds(1));
+        when(topicService.findAll())
+                .thenReturn(Flux.just(new Topic("1", "Java", 2)))
+                .thenReturn(Flux.just(new Topic("1", "Java", 5)));
+
+        TopicListing first = cache.get().block();
+        TopicListing changed = cache.get().block();
+
+        assertNotEquals(first.eTag(), changed.eTag());
+        assertEquals(first.generation() + 1, dataGeneration.current());
+    }
+
+    @Test
+    void shouldTagTheSameTopicsAlikeOnEveryNode() {
+        TopicListingCache cache = new TopicListingCache(topicService, dataGeneration, new ObjectMapper(), Duration.ofHours(1), Duration.ofSeconds(1));
+        TopicListingCache otherNode = new TopicListingCache(topicService, new DataGeneration(), new ObjectMapper(), Duration.ofHours(1), Duration.ofSeconds(1));
+        dataGeneration.advance();
+        when(topicService.findAll()).thenReturn(Flux.just(new Topic("1", "Java", 2)));
+
+        assertEquals(cache.get().block().eTag(), otherNode.get().block().eTag());
+    }
+}
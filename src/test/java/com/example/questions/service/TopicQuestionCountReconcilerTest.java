@@ -0,0 +1,85 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Topic;
+import com.example.questions.repository.TopicRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TopicQuestionCountReconcilerTest {
+    @Mock
+    private TopicRepository topicRepository;
+    @Mock
+    private QuestionService questionService;
+    @Mock
+    private DataGeneration dataGeneration;
+    @InjectMocks
+    private TopicQuestionCountReconciler reconciler;
+
+    @Test
+    void shouldRepairOnlyDriftedCounters() {
+        when(topicRepository.findAll()).thenReturn(Flux.just(
+                new Topic("1", "Java", 5),
+                new Topic("2", "Spring", 7),
+                new Topic("3", "Docker", null)
+        ));
+        when(questionService.countQuestionsByTopics(List.of("1", "2", "3"))).thenReturn(Mono.just(Map.of("1", 5, "2", 6)));
+        when(topicRepository.setNrOfQuestions("2", 7, 6)).thenReturn(Mono.just(true));
+        when(topicRepository.setNrOfQuestions("3", null, 0)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(reconciler.reconcile())
+                .expectNext(2L)
+                .verifyComplete();
+
+        verify(topicRepository, never()).setNrOfQuestions(eq("1"), any(), anyInt());
+        verify(dataGeneration).advance();
+    }
+
+    @Test
+    void shouldRecountCountersMovedDuringTheRun() {
+        when(topicRepository.findAll()).thenReturn(Flux.just(new Topic("1", "Java", 5)));
+        when(questionService.countQuestionsByTopics(List.of("1"))).thenReturn(Mono.just(Map.of("1", 6)))
+                .thenReturn(Mono.just(Map.of("1", 8)));
+        when(topicRepository.setNrOfQuestions("1", 5, 6)).thenReturn(Mono.just(false));
+        when(topicRepository.findById("1")).thenReturn(Mono.just(new Topic("1", "Java", 7)));
+        when(topicRepository.setNrOfQuestions("1", 7, 8)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(reconciler.reconcile())
+                .expectNext(1L)
+                .verifyComplete();
+
+        verify(dataGeneration).advance();
+    }
+
+    @Test
+    void shouldLeaveCountersThatKeepMovingToTheNextRun() {
+        when(topicRepository.findAll()).thenReturn(Flux.just(new Topic("1", "Java", 5)));
+        when(questionService.countQuestionsByTopics(List.of("1"))).thenReturn(Mono.just(Map.of("1", 6)));
+        when(topicRepository.setNrOfQuestions("1", 5, 6)).thenReturn(Mono.just(false));
+        when(topicRepository.findById("1")).thenReturn(Mono.just(new Topic("1", "Java", 5)));
+
+        StepVerifier.create(reconciler.reconcile())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(topicRepository, times(3)).setNrOfQuestions("1", 5, 6);
+        verify(dataGeneration, never()).advance();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.questions.service;
+
+import com.example.questions.model.Question;
+import com.example.questions.model.Topic;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopicQuestionsCacheTest {
+    private DataGeneration dataGeneration;
+    private SimpleMeterRegistry meterRegistry;
+    private TopicQuestionsCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        dataGeneration = new DataGeneration();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TopicQuestionsCache(dataGeneration, new ObjectMapper(), meterRegistry, 1 << 20, Duration.ofMinutes(1),
+                Duration.ofSeconds(1));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldLoadOncePerTopicUntilItIsInvalidated() {
+        get("1", false);
+        get("1", false);
+        get("2", false);
+        assertEquals(2, loads.get());
+
+        cache.invalidate(Set.of("2"));
+        get("1", false);
+        get("2", false);
+
+        assertEquals(3, loads.get());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", TopicQuestionsCache.NAME).tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void shouldReloadListsWithCountersAfterAnyWrite() {
+        get("1", true);
+        get("1", true);
+        assertEquals(1, loads.get());
+
+        dataGeneration.advance();
+        cache.invalidate(Set.of("2"));
+        get("1", true);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldPublishTheBytesHeld() {
+        get("1", false);
+
+        assertEquals(body("1").length, meterRegistry.get("cache.bytes").tag("cache", TopicQuestionsCache.NAME).gauge().value());
+    }
+
+    private void get(String topicId, boolean includeNrOfQuestions) {
+        StepVerifier.create(cache.get(topicId, includeNrOfQuestions, () -> {
+                    loads.incrementAndGet();
+                    return Mono.just(questions(topicId));
+                }))
+                .expectNextMatches(body -> new String(body).equals(new String(body(topicId))))
+                .verifyComplete();
+    }
+
+    private byte[] body(String topicId) {
+        try {
+            return new ObjectMapper().writeValueAsBytes(questions(topicId));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<Question> questions(String topicId) {
+        return List.of(new Question("What is " + topicId + "?", "An answer", List.of(new Topic(topicId, "Topic " + topicId, null))));
+    }
+}
@@ -11,15 +11,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.net.ConnectException;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,10 +30,12 @@ import static org.mockito.Mockito.when;
 class TopicServiceTest {
     @Mock
     private TopicRepository topicRepository;
+    @Mock
+    private TopicCatalog topicCatalog;
+    @Mock
+    private DataGeneration dataGeneration;
     @InjectMocks
     private TopicServiceImpl topicService;
-    @Mock
-    private QuestionService questionService;
     private Topic topic;
 
     @BeforeEach
@@ -45,145 +49,169 @@ class TopicServiceTest {
     }
 
     @Test
-    void shouldSuccessfullyAddTopic() throws Exception {
+    void shouldSuccessfullyAddTopic() {
         Topic savedTopic = new Topic("1", "Java", 0);
 
-        when(topicRepository.existsByNameIgnoreCase("Java")).thenReturn(false);
-        when(topicRepository.insert(any(Topic.class))).thenReturn(savedTopic);
+        when(topicCatalog.existsByNameIgnoreCase("Java")).thenReturn(Mono.just(false));
+        when(topicRepository.existsByNameIgnoreCase("Java")).thenReturn(Mono.just(false));
+        when(topicRepository.insert(any(Topic.class))).thenReturn(Mono.just(savedTopic));
 
-        Topic result = topicService.addTopic(topic);
+        StepVerifier.create(topicService.addTopic(topic))
+                .assertNext(result -> {
+                    assertNotNull(result.getId());
+                    assertEquals("Java", result.getName());
+                    assertEquals(0, result.getNrOfQuestions());
+                })
+                .verifyComplete();
 
-        assertNotNull(result.getId());
-        assertEquals("Java", result.getName());
-        assertEquals(0, result.getNrOfQuestions());
         verify(topicRepository).insert(topic);
+        verify(topicCatalog).put(savedTopic);
+        verify(dataGeneration).advance();
     }
 
     @Test
     void addTopicShouldThrowExceptionForNullTopic() {
-        assertThrows(InvalidInputException.class, () -> {
-            topicService.addTopic(null);
-        }, "Please provide a topic");
+        StepVerifier.create(topicService.addTopic(null))
+                .expectErrorMessage("Please provide a topic")
+                .verify();
     }
 
     @Test
     void addTopicShouldThrowExceptionForBlankTopicName() {
         Topic blankNameTopic = new Topic(null, " ", null);
 
-        assertThrows(InvalidInputException.class, () -> {
-            topicService.addTopic(blankNameTopic);
-        }, "Please provide a name for the topic");
+        StepVerifier.create(topicService.addTopic(blankNameTopic))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(InvalidInputException.class, e.getClass());
+                    assertEquals("Please provide a name for the topic", e.getMessage());
+                })
+                .verify();
     }
 
     @Test
     void addTopicShouldThrowExceptionForExistingTopicName() {
-        when(topicRepository.existsByNameIgnoreCase("Java")).thenReturn(true);
+        when(topicCatalog.existsByNameIgnoreCase("Java")).thenReturn(Mono.just(false));
+        when(topicRepository.existsByNameIgnoreCase("Java")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(topicService.addTopic(topic))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(InvalidInputException.class, e.getClass());
+                    assertEquals("A topic with that name already exists", e.getMessage());
+                })
+                .verify();
+    }
 
-        assertThrows(InvalidInputException.class, () -> {
-            topicService.addTopic(topic);
-        }, "A topic with that name already exists");
+    @Test
+    void addTopicShouldRejectTopicNameKnownToTheCatalogWithoutQueryingMongo() {
+        when(topicCatalog.existsByNameIgnoreCase("Java")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(topicService.addTopic(topic))
+                .expectErrorMessage("A topic with that name already exists")
+                .verify();
+
+        verify(topicRepository, never()).existsByNameIgnoreCase("Java");
     }
 
     @Test
     void addTopicShouldThrowExceptionForSettingNrOfQuestions() {
         Topic topicWithNrOfQuestions = new Topic(null, "Java", 10);
 
-        assertThrows(InvalidInputException.class, () -> {
-            topicService.addTopic(topicWithNrOfQuestions);
-        }, "Setting the number of questions while creating the topic is not allowed");
+        StepVerifier.create(topicService.addTopic(topicWithNrOfQuestions))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(InvalidInputException.class, e.getClass());
+                    assertEquals("Setting the number of questions while creating the topic is not allowed", e.getMessage());
+                })
+                .verify();
     }
 
     @Test
-    void findAllShouldPopulateNrOfQuestions() throws Exception {
-        List<Topic> topics = List.of(
-                new Topic("1", "Spring Boot", null),
+    void findAllShouldReturnStoredNrOfQuestions() {
+        when(topicRepository.findAll()).thenReturn(Flux.just(
+                new Topic("1", "Spring Boot", 5),
                 new Topic("2", "Java", null)
-        );
+        ));
 
-        when(topicRepository.findAll()).thenReturn(topics);
-        when(questionService.countQuestionsByTopic("1")).thenReturn(5);
-        when(questionService.countQuestionsByTopic("2")).thenReturn(10);
+        StepVerifier.create(topicService.findAll())
+                .assertNext(result -> assertEquals(5, result.getNrOfQuestions()))
+                .assertNext(result -> assertEquals(0, result.getNrOfQuestions()))
+                .verifyComplete();
 
-        List<Topic> result = topicService.findAll();
-
-        assertEquals(2, result.size());
-        assertEquals(5, result.get(0).getNrOfQuestions());
-        assertEquals(10, result.get(1).getNrOfQuestions());
-        verify(questionService, times(1)).countQuestionsByTopic("1");
-        verify(questionService, times(1)).countQuestionsByTopic("2");
+        verify(topicRepository, times(1)).findAll();
     }
 
     @Test
-    void addTopicShouldThrowConnectExceptionOnGenericException() throws Exception {
+    void addTopicShouldThrowConnectExceptionOnGenericException() {
         Topic validTopic = new Topic(null, "Java", null);
 
+        when(topicCatalog.existsByNameIgnoreCase("Java")).thenReturn(Mono.just(false));
+        when(topicRepository.existsByNameIgnoreCase("Java")).thenReturn(Mono.just(false));
         doThrow(RuntimeException.class).when(topicRepository).insert(validTopic);
 
-        assertThrows(ConnectException.class, () -> {
-            topicService.addTopic(validTopic);
-        }, "Failed to create the topic");
+        StepVerifier.create(topicService.addTopic(validTopic))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(ConnectException.class, e.getClass());
+                    assertEquals("Failed to create the topic", e.getMessage());
+                })
+                .verify();
     }
 
     @Test
-    void findAllShouldThrowRuntimeExceptionOnException() throws Exception {
-        List<Topic> topics = List.of(
-                new Topic("1", "Spring Boot", null),
-                new Topic("2", "Java", null)
-        );
+    void findAllShouldThrowRuntimeExceptionOnException() {
+        when(topicRepository.findAll()).thenReturn(Flux.error(new RuntimeException()));
 
-        when(topicRepository.findAll()).thenReturn(topics);
-        when(questionService.countQuestionsByTopic("1")).thenThrow(RuntimeException.class);
-
-        assertThrows(RuntimeException.class, () -> {
-            topicService.findAll();
-        });
+        StepVerifier.create(topicService.findAll())
+                .expectError(RuntimeException.class)
+                .verify();
     }
 
     @Test
     void findByIdShouldReturnTopic() {
         Topic topic = new Topic("1", "Java", null);
 
-        when(topicRepository.findById("1")).thenReturn(java.util.Optional.of(topic));
-
-        Topic result = topicService.findById("1");
+        when(topicRepository.findById("1")).thenReturn(Mono.just(topic));
 
-        assertEquals("1", result.getId());
-        assertEquals("Java", result.getName());
-        assertEquals(0, result.getNrOfQuestions());
+        StepVerifier.create(topicService.findById("1"))
+                .assertNext(result -> {
+                    assertEquals("1", result.getId());
+                    assertEquals("Java", result.getName());
+                    assertEquals(0, result.getNrOfQuestions());
+                })
+                .verifyComplete();
     }
 
     @Test
     void findByIdShouldThrowExceptionForNonExistingTopic() {
-        when(topicRepository.findById("1")).thenThrow(TopicNotFoundException.class);
-
-        assertThrows(TopicNotFoundException.class, () -> {
-            topicService.findById("1");
-        }, "Topic not found");
+        when(topicRepository.findById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(topicService.findById("1"))
+                .expectErrorSatisfies(e -> {
+                    assertEquals(TopicNotFoundException.class, e.getClass());
+                    assertEquals("Topic not found", e.getMessage());
+                })
+                .verify();
     }
 
     @Test
-    void findByIdShouldPopulateNrOfQuestions() throws Exception {
-        Topic topic = new Topic("1", "Java", null);
-
-        when(topicRepository.findById("1")).thenReturn(java.util.Optional.of(topic));
-        when(questionService.countQuestionsByTopic("1")).thenReturn(10);
-
-        Topic result = topicService.findById("1");
-
-        assertEquals("1", result.getId());
-        assertEquals("Java", result.getName());
-        assertEquals(10, result.getNrOfQuestions());
+    void findByIdShouldReturnStoredNrOfQuestions() {
+        Topic topic = new Topic("1", "Java", 10);
+
+        when(topicRepository.findById("1")).thenReturn(Mono.just(topic));
+
+        StepVerifier.create(topicService.findById("1"))
+                .assertNext(result -> {
+                    assertEquals("1", result.getId());
+                    assertEquals("Java", result.getName());
+                    assertEquals(10, result.getNrOfQuestions());
+                })
+                .verifyComplete();
     }
 
     @Test
-    void findByIdShouldThrowRuntimeExceptionOnException() throws Exception {
-        Topic topic = new Topic("1", "Java", null);
-
-        when(topicRepository.findById("1")).thenReturn(java.util.Optional.of(topic));
-        when(questionService.countQuestionsByTopic("1")).thenThrow(RuntimeException.class);
+    void findByIdShouldThrowRuntimeExceptionOnException() {
+        when(topicRepository.findById("1")).thenReturn(Mono.error(new RuntimeException()));
 
-        assertThrows(RuntimeException.class, () -> {
-            topicService.findById("1");
-        });
+        StepVerifier.create(topicService.findById("1"))
+                .expectError(RuntimeException.class)
+                .verify();
     }
 }
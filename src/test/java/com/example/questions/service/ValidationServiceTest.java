@@ -1,13 +1,18 @@
 package com.example.questions.service;
 
-import com.example.questions.exception.BlankTextException;
+import com.example.questions.validator.ValidationResult;
 import com.example.questions.validator.ValidationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ValidationServiceTest {
     @Mock
@@ -19,32 +24,55 @@ class ValidationServiceTest {
     }
 
     @Test
-    void shouldThrowExceptionForNullText() {
-        assertThrows(BlankTextException.class, () -> validationService.isValidText(null));
+    void shouldRejectNullText() {
+        assertFalse(validationService.isValidText(null));
+    }
+
+    @Test
+    void shouldRejectEmptyText() {
+        assertFalse(validationService.isValidText(""));
     }
 
     @Test
-    void shouldThrowExceptionForEmptyText() {
-        assertThrows(BlankTextException.class, () -> validationService.isValidText(""));
+    void shouldRejectWhitespaceText() {
+        assertFalse(validationService.isValidText("   "));
     }
 
     @Test
-    void shouldThrowExceptionForWhitespaceText() {
-        assertThrows(BlankTextException.class, () -> validationService.isValidText("   "));
+    void shouldRejectUnicodeWhitespaceText() {
+        assertFalse(validationService.isValidText("\u2003\n\u2003"));
     }
 
     @Test
-    void shouldThrowExceptionForTextEqualsNullString() {
-        assertThrows(BlankTextException.class, () -> validationService.isValidText("null"));
+    void shouldRejectTextEqualsNullString() {
+        assertFalse(validationService.isValidText("null"));
     }
 
     @Test
-    void shouldThrowExceptionForTextEqualsNullStringCaseInsensitive() {
-        assertThrows(BlankTextException.class, () -> validationService.isValidText("NuLl"));
+    void shouldRejectTextEqualsNullStringCaseInsensitiveAndPadded() {
+        assertFalse(validationService.isValidText(" NuLl\t"));
+    }
+
+    @Test
+    void shouldAcceptValidText() {
+        assertTrue(validationService.isValidText("Valid text"));
+        assertTrue(validationService.isValidText("nullable"));
+    }
+
+    @Test
+    void validateQuestionShouldReportEveryInvalidField() {
+        ValidationResult result = validationService.validateQuestion(" ", "null");
+
+        assertFalse(result.isValid());
+        assertEquals(List.of("question", "answer"), result.getInvalidFields());
+        assertEquals("Complete required fields: question, answer", result.getRejection().getMessage());
+        assertEquals(0, result.getRejection().getStackTrace().length);
     }
 
     @Test
-    void shouldNotThrowExceptionForValidText() {
-        assertDoesNotThrow(() -> validationService.isValidText("Valid text"));
+    void validateQuestionShouldShareItsResults() {
+        assertSame(validationService.validateQuestion("", "An answer"), validationService.validateQuestion(null, "Another answer"));
+        assertSame(ValidationResult.VALID, validationService.validateQuestion("A question", "An answer"));
+        assertNull(ValidationResult.VALID.getRejection());
     }
 }